@@ -0,0 +1,122 @@
+package com.microservice.clientes.Clientes_microservice_curse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o tempo entre disparar a JVM do serviço e a primeira resposta 200 de
+ * {@code /actuator/health}, comparando o jar executável comum com o empacotamento do perfil
+ * inicio-rapido (AOT + AppCDS). Precisa dos artefatos de {@code mvn -Pinicio-rapido package}
+ * e do banco configurado:
+ * {@code mvn -Pbenchmark,inicio-rapido verify -DskipTests -Djmh.argumentos="-f 1 -wi 1 -i 5 InicializacaoBenchmark"}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InicializacaoBenchmark {
+
+    private static final Duration PRAZO = Duration.ofMinutes(2);
+
+    @Param({"padrao", "inicio-rapido"})
+    private String modo;
+
+    @Param({"target"})
+    private String diretorio;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+    private List<String> comando;
+    private HttpRequest saude;
+    private Process processo;
+
+    @Setup(Level.Invocation)
+    public void setUp() throws IOException {
+        int porta;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            porta = socket.getLocalPort();
+        }
+        Path alvo = Path.of(diretorio);
+        comando = new ArrayList<>(List.of("java"));
+        if (modo.equals("inicio-rapido")) {
+            comando.add("-XX:SharedArchiveFile=" + arquivo(alvo, "project-service.jsa"));
+            comando.add("-Dspring.aot.enabled=true");
+            comando.add("-Dspring.profiles.active=inicio-rapido");
+            comando.addAll(List.of("-jar", arquivo(alvo, "project-service-*.jar").toString()));
+        } else {
+            comando.addAll(List.of("-jar", arquivo(alvo, "project-service-*-exec.jar").toString()));
+        }
+        comando.add("--server.port=" + porta);
+        saude = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/actuator/health"))
+                .timeout(Duration.ofSeconds(1))
+                .build();
+    }
+
+    @Benchmark
+    public int primeiraRequisicao() throws IOException, InterruptedException {
+        processo = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        long limite = System.nanoTime() + PRAZO.toNanos();
+        while (System.nanoTime() < limite) {
+            if (!processo.isAlive()) {
+                throw new IllegalStateException("O serviço encerrou antes de responder (código " + processo.exitValue() + ").");
+            }
+            try {
+                HttpResponse<Void> resposta = httpClient.send(saude, HttpResponse.BodyHandlers.discarding());
+                if (resposta.statusCode() == 200) {
+                    return resposta.statusCode();
+                }
+            } catch (IOException e) {
+                // Porta ainda fechada.
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("O serviço não respondeu em " + PRAZO + ".");
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws InterruptedException {
+        if (processo == null) return;
+        processo.destroy();
+        if (!processo.waitFor(30, TimeUnit.SECONDS)) {
+            processo.destroyForcibly().waitFor();
+        }
+    }
+
+    private static Path arquivo(Path alvo, String padrao) throws IOException {
+        try (DirectoryStream<Path> encontrados = Files.newDirectoryStream(alvo, padrao)) {
+            for (Path encontrado : encontrados) {
+                // O jar enxuto e o executável (-exec) casam com o mesmo padrão.
+                if (padrao.endsWith("-exec.jar") || !encontrado.toString().endsWith("-exec.jar")) {
+                    return encontrado.toAbsolutePath();
+                }
+            }
+        }
+        throw new IllegalStateException("Nenhum " + padrao + " em " + alvo.toAbsolutePath()
+                + "; rode mvn -Pinicio-rapido package antes.");
+    }
+}
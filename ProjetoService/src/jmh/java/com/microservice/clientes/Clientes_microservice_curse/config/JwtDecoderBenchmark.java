@@ -0,0 +1,72 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a decodificação e verificação HS256 do token feita pelo bean
+ * {@link SecurityConfig#jwtDecoder()} em cada requisição, com e sem o
+ * {@link AutenticacaoJwtEmCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtDecoderBenchmark {
+
+    private static final String SEGREDO = "aMinhaChaveSuperSecretaParaJWT32";
+
+    private JwtDecoder jwtDecoder;
+    private AutenticacaoJwtEmCache autenticacaoJwtEmCache;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        SecurityConfig securityConfig = new SecurityConfig();
+        ReflectionTestUtils.setField(securityConfig, "jwtSecret", SEGREDO);
+        jwtDecoder = securityConfig.jwtDecoder();
+        autenticacaoJwtEmCache = new AutenticacaoJwtEmCache(jwtDecoder, securityConfig.jwtAuthenticationConverter(),
+                100, new SimpleMeterRegistry());
+
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("professor@exemplo.com")
+                .claim("userId", 42L)
+                .claim("roles", List.of("ROLE_PROFESSOR"))
+                .issueTime(new Date())
+                .expirationTime(new Date(System.currentTimeMillis() + 3_600_000))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(SEGREDO.getBytes(StandardCharsets.UTF_8)));
+        token = jwt.serialize();
+    }
+
+    @Benchmark
+    public Jwt decodificar() {
+        return jwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Authentication autenticarComCache() {
+        return autenticacaoJwtEmCache.authenticate(new BearerTokenAuthenticationToken(token));
+    }
+}
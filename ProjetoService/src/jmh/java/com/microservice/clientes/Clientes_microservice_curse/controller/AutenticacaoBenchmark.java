@@ -0,0 +1,58 @@
+package com.microservice.clientes.Clientes_microservice_curse.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a extração do ID do usuário a partir da autenticação JWT feita em cada requisição.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AutenticacaoBenchmark {
+
+    private ProjetoController projetoController;
+    private JwtAuthenticationToken autenticacaoNumerica;
+    private JwtAuthenticationToken autenticacaoTexto;
+
+    @Setup
+    public void setUp() {
+        projetoController = new ProjetoController(null, null, null, null);
+        autenticacaoNumerica = autenticacao(42L);
+        autenticacaoTexto = autenticacao("42");
+    }
+
+    @Benchmark
+    public Long userIdNumerico() {
+        return projetoController.getUsuarioIdFromAuthentication(autenticacaoNumerica);
+    }
+
+    @Benchmark
+    public Long userIdTexto() {
+        return projetoController.getUsuarioIdFromAuthentication(autenticacaoTexto);
+    }
+
+    private static JwtAuthenticationToken autenticacao(Object userId) {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .subject("professor@exemplo.com")
+                .claim("userId", userId)
+                .claim("roles", List.of("ROLE_PROFESSOR"))
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+        return new JwtAuthenticationToken(jwt, List.of(new SimpleGrantedAuthority("ROLE_PROFESSOR")));
+    }
+}
@@ -0,0 +1,51 @@
+package com.microservice.clientes.Clientes_microservice_curse.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a serialização JSON de listas de {@link ProjetoDTO} com o ObjectMapper configurado
+ * como o do Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializacaoProjetoBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int quantidade;
+
+    private ObjectMapper objectMapper;
+    private List<ProjetoDTO> projetos;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        projetos = new ArrayList<>(quantidade);
+        for (long i = 1; i <= quantidade; i++) {
+            projetos.add(new ProjetoDTO(i, "Projeto " + i, "Objetivo " + i, "Escopo ".repeat(100), "Alunos",
+                    new Date(System.currentTimeMillis()), StatusProjetoModel.EM_ANDAMENTO,
+                    i % 50 + 1, "Professor " + (i % 50 + 1), i, "Grupo " + i));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(projetos);
+    }
+}
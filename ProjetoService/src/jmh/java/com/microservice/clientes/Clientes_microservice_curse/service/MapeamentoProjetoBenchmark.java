@@ -0,0 +1,87 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.clientes.Clientes_microservice_curse.Clients.GroupServiceClientLocal;
+import com.microservice.clientes.Clientes_microservice_curse.Clients.UserServiceClientLocal;
+import com.microservice.clientes.Clientes_microservice_curse.config.CircuitBreakerFactoryLocal;
+import com.microservice.clientes.Clientes_microservice_curse.config.EnriquecimentoProperties;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ProjetoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.model.ProjetoModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o mapeamento entidade/DTO do {@link GestaoProjetoService}, com os clientes remotos
+ * substituídos pelos equivalentes em memória dos testes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapeamentoProjetoBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int quantidade;
+
+    private EnriquecimentoProjetoService enriquecimentoProjetoService;
+    private GestaoProjetoService gestaoProjetoService;
+    private List<ProjetoModel> projetos;
+    private ProjetoDTO dto;
+
+    @Setup
+    public void setUp() {
+        UserServiceClientLocal userServiceClient = new UserServiceClientLocal();
+        GroupServiceClientLocal groupServiceClient = new GroupServiceClientLocal();
+        for (long id = 1; id <= 50; id++) {
+            userServiceClient.comUsuario(id, "Professor " + id);
+            groupServiceClient.comGrupo(id, "Grupo " + id);
+        }
+        enriquecimentoProjetoService = new EnriquecimentoProjetoService(userServiceClient, groupServiceClient,
+                new EnriquecimentoProperties(), new CircuitBreakerFactoryLocal(), new SimpleMeterRegistry());
+        gestaoProjetoService = new GestaoProjetoService(null, enriquecimentoProjetoService, null, new ObjectMapper(), evento -> { }, null, null);
+
+        projetos = new ArrayList<>(quantidade);
+        for (long i = 1; i <= quantidade; i++) {
+            ProjetoModel projeto = new ProjetoModel("Projeto " + i, "Objetivo " + i, "Escopo ".repeat(100),
+                    "Alunos", new Date(System.currentTimeMillis()), i % 50 + 1);
+            projeto.setId(i);
+            projeto.setGrupoId(i % 50 + 1);
+            projeto.setStatus(StatusProjetoModel.EM_ANDAMENTO);
+            projetos.add(projeto);
+        }
+        dto = gestaoProjetoService.toDTO(projetos.get(0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        enriquecimentoProjetoService.destroy();
+    }
+
+    @Benchmark
+    public ProjetoDTO toDTO() {
+        return gestaoProjetoService.toDTO(projetos.get(0));
+    }
+
+    @Benchmark
+    public List<ProjetoDTO> toDTOs() {
+        return gestaoProjetoService.toDTOs(projetos);
+    }
+
+    @Benchmark
+    public ProjetoModel toModel() {
+        return gestaoProjetoService.toModel(dto);
+    }
+}
@@ -1,12 +1,25 @@
 package com.microservice.clientes.Clientes_microservice_curse.Clients;
 
+import com.microservice.clientes.Clientes_microservice_curse.dto.EventoProjetoDTO;
 import com.microservice.clientes.Clientes_microservice_curse.dto.GroupDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
 
 @FeignClient(name = "group-service", path = "/api/grupos")
 public interface GroupServiceClient {
     @GetMapping("/{id}")
     GroupDTO getGrupoById(@PathVariable("id") Long id);
+
+    @GetMapping("/lote")
+    List<GroupDTO> getGruposByIds(@RequestParam("ids") Collection<Long> ids);
+
+    @PostMapping("/eventos-projetos")
+    void receberEventosProjetos(@RequestBody List<EventoProjetoDTO> eventos);
 }
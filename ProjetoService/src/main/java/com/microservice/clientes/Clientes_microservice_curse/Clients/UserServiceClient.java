@@ -4,9 +4,16 @@ import com.microservice.clientes.Clientes_microservice_curse.dto.UserDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
 
 @FeignClient(name = "user-service", path = "/api/usuarios")
 public interface UserServiceClient {
     @GetMapping("/{id}")
     UserDTO getUsuarioById(@PathVariable("id") Long id);
+
+    @GetMapping("/lote")
+    List<UserDTO> getUsuariosByIds(@RequestParam("ids") Collection<Long> ids);
 }
@@ -0,0 +1,129 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Autentica tokens Bearer como o {@code JwtAuthenticationProvider}, mas guarda o resultado
+ * de cada token verificado até o seu {@code exp}. Requisições repetidas com o mesmo token
+ * não refazem a verificação HMAC nem a leitura dos claims.
+ * <p>
+ * A chave do cache é o SHA-256 do token, só para ter chaves curtas e de tamanho fixo; o
+ * {@link Jwt} guardado no valor ainda carrega o token inteiro. Tokens sem {@code exp} são
+ * verificados a cada requisição.
+ */
+public class AutenticacaoJwtEmCache implements AuthenticationManager {
+
+    private final JwtDecoder jwtDecoder;
+    private final Converter<Jwt, ? extends AbstractAuthenticationToken> jwtAuthenticationConverter;
+    private final Clock relogio;
+    private final Cache<String, UsuarioAutenticado> cache;
+
+    public AutenticacaoJwtEmCache(JwtDecoder jwtDecoder,
+                                  Converter<Jwt, ? extends AbstractAuthenticationToken> jwtAuthenticationConverter,
+                                  long tamanhoMaximo, MeterRegistry meterRegistry) {
+        this(jwtDecoder, jwtAuthenticationConverter, tamanhoMaximo, meterRegistry, Clock.systemUTC());
+    }
+
+    AutenticacaoJwtEmCache(JwtDecoder jwtDecoder,
+                           Converter<Jwt, ? extends AbstractAuthenticationToken> jwtAuthenticationConverter,
+                           long tamanhoMaximo, MeterRegistry meterRegistry, Clock relogio) {
+        this.jwtDecoder = jwtDecoder;
+        this.jwtAuthenticationConverter = jwtAuthenticationConverter;
+        this.relogio = relogio;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new ExpiracaoToken(relogio))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.autenticacoes");
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+        BearerTokenAuthenticationToken bearer = (BearerTokenAuthenticationToken) authentication;
+        String chave = chave(bearer.getToken());
+
+        UsuarioAutenticado usuario = cache.getIfPresent(chave);
+        if (usuario == null) {
+            usuario = verificar(bearer.getToken());
+            Instant expiracao = usuario.getJwt().getExpiresAt();
+            if (expiracao != null && expiracao.isAfter(relogio.instant())) {
+                cache.put(chave, usuario);
+            }
+        }
+
+        UsuarioJwtAuthenticationToken token = new UsuarioJwtAuthenticationToken(usuario);
+        token.setDetails(bearer.getDetails());
+        return token;
+    }
+
+    private UsuarioAutenticado verificar(String tokenBruto) {
+        Jwt jwt;
+        try {
+            jwt = jwtDecoder.decode(tokenBruto);
+        } catch (BadJwtException e) {
+            throw new InvalidBearerTokenException(e.getMessage(), e);
+        } catch (JwtException e) {
+            throw new AuthenticationServiceException(e.getMessage(), e);
+        }
+        AbstractAuthenticationToken convertido = jwtAuthenticationConverter.convert(jwt);
+        return new UsuarioAutenticado(jwt, convertido.getName(), convertido.getAuthorities());
+    }
+
+    private static String chave(String tokenBruto) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(tokenBruto.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível na JVM.", e);
+        }
+    }
+
+    private static final class ExpiracaoToken implements Expiry<String, UsuarioAutenticado> {
+
+        private final Clock relogio;
+
+        private ExpiracaoToken(Clock relogio) {
+            this.relogio = relogio;
+        }
+
+        @Override
+        public long expireAfterCreate(String chave, UsuarioAutenticado usuario, long tempoAtual) {
+            Duration restante = Duration.between(relogio.instant(), usuario.getJwt().getExpiresAt());
+            return Math.max(0, restante.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, UsuarioAutenticado usuario, long tempoAtual, long duracaoAtual) {
+            return expireAfterCreate(chave, usuario, tempoAtual);
+        }
+
+        @Override
+        public long expireAfterRead(String chave, UsuarioAutenticado usuario, long tempoAtual, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
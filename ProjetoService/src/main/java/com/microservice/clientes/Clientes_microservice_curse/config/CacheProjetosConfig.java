@@ -0,0 +1,47 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Métricas do cache de segundo nível e canal de invalidação entre instâncias.
+ */
+@Configuration
+public class CacheProjetosConfig {
+
+    @Bean
+    public HibernateMetrics hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "entityManagerFactory", Tags.empty());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.invalidacao", name = "canal", havingValue = "eureka", matchIfMissing = true)
+    public CanalInvalidacaoCacheEureka canalInvalidacaoCacheEureka(DiscoveryClient discoveryClient,
+                                                                   ObjectProvider<Registration> registration,
+                                                                   @Value("${spring.application.name}") String servico,
+                                                                   @Value("${cache.invalidacao.segredo:}") String segredo,
+                                                                   @Value("${cache.invalidacao.timeout:1s}") Duration timeout,
+                                                                   MeterRegistry meterRegistry) {
+        Registration local = registration.getIfAvailable();
+        return new CanalInvalidacaoCacheEureka(discoveryClient, servico, local != null ? local.getInstanceId() : null,
+                segredo, timeout, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.invalidacao", name = "canal", havingValue = "local")
+    public CanalInvalidacaoCache canalInvalidacaoCacheLocal() {
+        return new CanalInvalidacaoCacheLocal();
+    }
+}
@@ -0,0 +1,16 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import com.microservice.clientes.Clientes_microservice_curse.dto.InvalidacaoCacheDTO;
+
+import java.util.function.Consumer;
+
+/**
+ * Meio pelo qual as invalidações do cache de segundo nível chegam às demais instâncias.
+ * A entrega é de melhor esforço; a expiração das regiões limita o tempo de uma entrada velha.
+ */
+public interface CanalInvalidacaoCache {
+
+    void publicar(InvalidacaoCacheDTO invalidacao);
+
+    void assinar(Consumer<InvalidacaoCacheDTO> ouvinte);
+}
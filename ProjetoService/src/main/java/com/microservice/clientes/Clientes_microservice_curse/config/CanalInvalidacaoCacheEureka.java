@@ -0,0 +1,110 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import com.microservice.clientes.Clientes_microservice_curse.dto.InvalidacaoCacheDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Envia cada invalidação às outras instâncias do serviço registradas no Eureka, fora da
+ * thread da requisição. As instâncias se autenticam pelo segredo compartilhado em
+ * {@code cache.invalidacao.segredo}.
+ */
+public class CanalInvalidacaoCacheEureka implements CanalInvalidacaoCache, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CanalInvalidacaoCacheEureka.class);
+    public static final String CAMINHO = "/internal/cache/projetos/invalidacoes";
+    public static final String CABECALHO_SEGREDO = "X-Invalidacao-Cache";
+
+    private final DiscoveryClient discoveryClient;
+    private final String servico;
+    private final String instanciaLocal;
+    private final byte[] segredo;
+    private final RestClient restClient;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "invalidacao-cache");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<Consumer<InvalidacaoCacheDTO>> ouvintes = new CopyOnWriteArrayList<>();
+    private final Counter falhas;
+
+    public CanalInvalidacaoCacheEureka(DiscoveryClient discoveryClient, String servico, String instanciaLocal,
+                                       String segredo, Duration timeout, MeterRegistry meterRegistry) {
+        if (segredo == null || segredo.isBlank()) {
+            // Sem segredo toda invalidação recebida seria recusada, e os caches divergiriam em silêncio.
+            throw new IllegalStateException("cache.invalidacao.segredo é obrigatório com cache.invalidacao.canal=eureka; "
+                    + "use cache.invalidacao.canal=local para uma única instância.");
+        }
+        this.discoveryClient = discoveryClient;
+        this.servico = servico;
+        this.instanciaLocal = instanciaLocal;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout((int) timeout.toMillis());
+        requestFactory.setReadTimeout((int) timeout.toMillis());
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+        this.falhas = meterRegistry.counter("projetos.cache.invalidacoes.falhas");
+        this.segredo = segredo.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void publicar(InvalidacaoCacheDTO invalidacao) {
+        for (ServiceInstance instancia : discoveryClient.getInstances(servico)) {
+            if (instancia.getInstanceId() != null && instancia.getInstanceId().equals(instanciaLocal)) continue;
+            executor.execute(() -> enviar(instancia, invalidacao));
+        }
+    }
+
+    @Override
+    public void assinar(Consumer<InvalidacaoCacheDTO> ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    /**
+     * Entrega uma invalidação recebida de outra instância; devolve {@code false} se o segredo
+     * não confere.
+     */
+    public boolean receber(InvalidacaoCacheDTO invalidacao, String segredoRecebido) {
+        if (segredo.length == 0 || segredoRecebido == null
+                || !MessageDigest.isEqual(segredo, segredoRecebido.getBytes(StandardCharsets.UTF_8))) {
+            return false;
+        }
+        ouvintes.forEach(ouvinte -> ouvinte.accept(invalidacao));
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private void enviar(ServiceInstance instancia, InvalidacaoCacheDTO invalidacao) {
+        try {
+            restClient.post()
+                    .uri(instancia.getUri().resolve(CAMINHO))
+                    .header(CABECALHO_SEGREDO, new String(segredo, StandardCharsets.UTF_8))
+                    .body(invalidacao)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (RestClientException e) {
+            falhas.increment();
+            log.warn("Falha ao enviar invalidação de cache para {}: {}", instancia.getUri(), e.getMessage());
+        }
+    }
+}
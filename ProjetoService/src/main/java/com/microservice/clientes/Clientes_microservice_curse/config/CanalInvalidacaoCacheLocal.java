@@ -0,0 +1,25 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import com.microservice.clientes.Clientes_microservice_curse.dto.InvalidacaoCacheDTO;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Entrega as invalidações aos assinantes da própria JVM, para instância única e testes.
+ */
+public class CanalInvalidacaoCacheLocal implements CanalInvalidacaoCache {
+
+    private final List<Consumer<InvalidacaoCacheDTO>> ouvintes = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publicar(InvalidacaoCacheDTO invalidacao) {
+        ouvintes.forEach(ouvinte -> ouvinte.accept(invalidacao));
+    }
+
+    @Override
+    public void assinar(Consumer<InvalidacaoCacheDTO> ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+}
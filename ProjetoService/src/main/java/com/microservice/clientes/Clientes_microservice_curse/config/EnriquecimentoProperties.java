@@ -0,0 +1,67 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "enriquecimento")
+public class EnriquecimentoProperties {
+
+    private int tamanhoLote = 100;
+    private int threads = 16;
+    private int capacidadeFila = 500;
+    private Duration prazo = Duration.ofSeconds(2);
+    private final Cache cache = new Cache();
+    private final Limite limite = new Limite();
+
+    public int getTamanhoLote() { return tamanhoLote; }
+    public void setTamanhoLote(int tamanhoLote) { this.tamanhoLote = tamanhoLote; }
+    public int getThreads() { return threads; }
+    public void setThreads(int threads) { this.threads = threads; }
+    public int getCapacidadeFila() { return capacidadeFila; }
+    public void setCapacidadeFila(int capacidadeFila) { this.capacidadeFila = capacidadeFila; }
+    public Duration getPrazo() { return prazo; }
+    public void setPrazo(Duration prazo) { this.prazo = prazo; }
+    public Cache getCache() { return cache; }
+    public Limite getLimite() { return limite; }
+
+    public static class Cache {
+        private long tamanhoMaximo = 10_000;
+        private Duration ttl = Duration.ofHours(1);
+        private Duration refreshAposEscrita = Duration.ofMinutes(5);
+        private Duration ttlNegativo = Duration.ofSeconds(30);
+
+        public long getTamanhoMaximo() { return tamanhoMaximo; }
+        public void setTamanhoMaximo(long tamanhoMaximo) { this.tamanhoMaximo = tamanhoMaximo; }
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+        public Duration getRefreshAposEscrita() { return refreshAposEscrita; }
+        public void setRefreshAposEscrita(Duration refreshAposEscrita) { this.refreshAposEscrita = refreshAposEscrita; }
+        public Duration getTtlNegativo() { return ttlNegativo; }
+        public void setTtlNegativo(Duration ttlNegativo) { this.ttlNegativo = ttlNegativo; }
+    }
+
+    /**
+     * Limite de chamadas simultâneas a cada serviço de nomes. Cresce uma unidade a cada chamada
+     * rápida com o limite em uso e encolhe pelo fator de redução quando uma chamada falha ou
+     * demora mais que a latência tolerada.
+     */
+    public static class Limite {
+        private int inicial = 20;
+        private int minimo = 1;
+        private int maximo = 200;
+        private Duration latenciaTolerada = Duration.ofMillis(500);
+        private double fatorReducao = 0.9;
+
+        public int getInicial() { return inicial; }
+        public void setInicial(int inicial) { this.inicial = inicial; }
+        public int getMinimo() { return minimo; }
+        public void setMinimo(int minimo) { this.minimo = minimo; }
+        public int getMaximo() { return maximo; }
+        public void setMaximo(int maximo) { this.maximo = maximo; }
+        public Duration getLatenciaTolerada() { return latenciaTolerada; }
+        public void setLatenciaTolerada(Duration latenciaTolerada) { this.latenciaTolerada = latenciaTolerada; }
+        public double getFatorReducao() { return fatorReducao; }
+        public void setFatorReducao(double fatorReducao) { this.fatorReducao = fatorReducao; }
+    }
+}
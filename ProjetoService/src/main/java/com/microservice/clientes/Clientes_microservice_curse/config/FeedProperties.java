@@ -0,0 +1,29 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "feed")
+public class FeedProperties {
+
+    private int tamanhoReplay = 1000;
+    private int capacidadeFila = 256;
+    private int maximoAssinaturas = 1000;
+    private int threads = 4;
+    private Duration timeout = Duration.ofMinutes(30);
+    private Duration timeoutEnvio = Duration.ofSeconds(10);
+
+    public int getTamanhoReplay() { return tamanhoReplay; }
+    public void setTamanhoReplay(int tamanhoReplay) { this.tamanhoReplay = tamanhoReplay; }
+    public int getCapacidadeFila() { return capacidadeFila; }
+    public void setCapacidadeFila(int capacidadeFila) { this.capacidadeFila = capacidadeFila; }
+    public int getMaximoAssinaturas() { return maximoAssinaturas; }
+    public void setMaximoAssinaturas(int maximoAssinaturas) { this.maximoAssinaturas = maximoAssinaturas; }
+    public int getThreads() { return threads; }
+    public void setThreads(int threads) { this.threads = threads; }
+    public Duration getTimeout() { return timeout; }
+    public void setTimeout(Duration timeout) { this.timeout = timeout; }
+    public Duration getTimeoutEnvio() { return timeoutEnvio; }
+    public void setTimeoutEnvio(Duration timeoutEnvio) { this.timeoutEnvio = timeoutEnvio; }
+}
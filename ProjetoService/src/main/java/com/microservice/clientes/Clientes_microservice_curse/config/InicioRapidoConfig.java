@@ -0,0 +1,29 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * Perfil de inicialização rápida: os clientes Feign só são criados na primeira chamada. Os
+ * serviços recebem os clientes por injeção {@code @Lazy}, então nenhum deles é montado no boot.
+ */
+@Configuration
+@Profile("inicio-rapido")
+public class InicioRapidoConfig {
+
+    @Bean
+    public static BeanFactoryPostProcessor clientesFeignSobDemanda() {
+        return beanFactory -> {
+            for (String nome : beanFactory.getBeanDefinitionNames()) {
+                Class<?> tipo = beanFactory.getType(nome, false);
+                if (tipo != null && AnnotatedElementUtils.hasAnnotation(tipo, FeignClient.class)) {
+                    beanFactory.getBeanDefinition(nome).setLazyInit(true);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+
+    private int tamanhoLote = 100;
+    private Duration backoffInicial = Duration.ofSeconds(1);
+    private Duration backoffMaximo = Duration.ofMinutes(5);
+    private int maximoTentativas = 20;
+    private Duration reserva = Duration.ofMinutes(5);
+
+    public int getTamanhoLote() { return tamanhoLote; }
+    public void setTamanhoLote(int tamanhoLote) { this.tamanhoLote = tamanhoLote; }
+    public Duration getBackoffInicial() { return backoffInicial; }
+    public void setBackoffInicial(Duration backoffInicial) { this.backoffInicial = backoffInicial; }
+    public Duration getBackoffMaximo() { return backoffMaximo; }
+    public void setBackoffMaximo(Duration backoffMaximo) { this.backoffMaximo = backoffMaximo; }
+    public int getMaximoTentativas() { return maximoTentativas; }
+    public void setMaximoTentativas(int maximoTentativas) { this.maximoTentativas = maximoTentativas; }
+    public Duration getReserva() { return reserva; }
+    public void setReserva(Duration reserva) { this.reserva = reserva; }
+}
@@ -0,0 +1,161 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pools de conexão das réplicas de leitura. Uma verificação periódica mede o atraso de
+ * replicação de cada réplica; as que passam de {@code atraso-maximo}, ou não respondem, saem
+ * da escolha até a próxima verificação bem-sucedida. Toda réplica começa fora da escolha até
+ * ser verificada.
+ */
+public class ReplicasLeitura implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicasLeitura.class);
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final RoteamentoDataSourceProperties.Estrategia estrategia;
+    private final String consultaAtraso;
+    private final long atrasoMaximoMillis;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    public ReplicasLeitura(RoteamentoDataSourceProperties propriedades, MeterRegistry meterRegistry) {
+        this.estrategia = propriedades.getEstrategia();
+        this.consultaAtraso = propriedades.getConsultaAtraso();
+        this.atrasoMaximoMillis = propriedades.getAtrasoMaximo().toMillis();
+        int indice = 0;
+        for (RoteamentoDataSourceProperties.Replica configuracao : propriedades.getReplicas()) {
+            String nome = configuracao.getNome() != null ? configuracao.getNome() : "replica-" + (++indice);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(nome);
+            dataSource.setJdbcUrl(configuracao.getUrl());
+            dataSource.setUsername(configuracao.getUsername());
+            dataSource.setPassword(configuracao.getPassword());
+            dataSource.setMaximumPoolSize(configuracao.getMaximoConexoes());
+            dataSource.setReadOnly(true);
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            Replica replica = new Replica(nome, dataSource);
+            replicas.add(replica);
+
+            TimeGauge.builder("projetos.datasource.replica.atraso", replica, TimeUnit.MILLISECONDS, r -> r.atrasoMillis)
+                    .tag("replica", nome)
+                    .register(meterRegistry);
+            Gauge.builder("projetos.datasource.replica.disponivel", replica, r -> r.disponivel ? 1 : 0)
+                    .tag("replica", nome)
+                    .register(meterRegistry);
+        }
+    }
+
+    Map<Object, Object> dataSources() {
+        Map<Object, Object> dataSources = new LinkedHashMap<>();
+        for (Replica replica : replicas) {
+            dataSources.put(replica.nome, replica.dataSource);
+        }
+        return Collections.unmodifiableMap(dataSources);
+    }
+
+    HikariDataSource dataSource(String nome) {
+        return replicas.stream().filter(replica -> replica.nome.equals(nome)).findFirst()
+                .map(replica -> replica.dataSource).orElseThrow();
+    }
+
+    /**
+     * Nome da réplica que deve atender a próxima leitura, ou {@code null} se nenhuma estiver
+     * disponível.
+     */
+    String escolher() {
+        List<Replica> disponiveis = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica.disponivel) disponiveis.add(replica);
+        }
+        if (disponiveis.isEmpty()) return null;
+        if (estrategia == RoteamentoDataSourceProperties.Estrategia.MENOS_CONEXOES) {
+            Replica escolhida = disponiveis.get(0);
+            for (Replica replica : disponiveis) {
+                if (replica.conexoesAtivas() < escolhida.conexoesAtivas()) escolhida = replica;
+            }
+            return escolhida.nome;
+        }
+        return disponiveis.get(Math.floorMod(proxima.getAndIncrement(), disponiveis.size())).nome;
+    }
+
+    /**
+     * Tira a réplica da escolha depois de uma falha ao abrir conexão, sem esperar a próxima
+     * verificação; ela volta quando uma verificação for bem-sucedida.
+     */
+    void marcarIndisponivel(String nome, SQLException erro) {
+        for (Replica replica : replicas) {
+            if (replica.nome.equals(nome) && replica.disponivel) {
+                replica.disponivel = false;
+                log.warn("Réplica {} recusou conexão e saiu do roteamento de leituras: {}", nome, erro.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${roteamento-datasource.verificacao-atraso:PT5S}")
+    public void verificarAtraso() {
+        for (Replica replica : replicas) {
+            boolean estavaDisponivel = replica.disponivel;
+            try (Connection conexao = replica.dataSource.getConnection();
+                 Statement comando = conexao.createStatement();
+                 ResultSet resultado = comando.executeQuery(consultaAtraso)) {
+                double segundos = resultado.next() ? resultado.getDouble(1) : 0;
+                replica.atrasoMillis = Math.round(segundos * 1000);
+                replica.disponivel = replica.atrasoMillis <= atrasoMaximoMillis;
+                if (estavaDisponivel && !replica.disponivel) {
+                    log.warn("Réplica {} com atraso de {} ms saiu do roteamento de leituras.", replica.nome, replica.atrasoMillis);
+                }
+            } catch (SQLException e) {
+                replica.disponivel = false;
+                if (estavaDisponivel) {
+                    log.warn("Réplica {} não respondeu e saiu do roteamento de leituras: {}", replica.nome, e.getMessage());
+                }
+            }
+            if (!estavaDisponivel && replica.disponivel) {
+                log.info("Réplica {} disponível para leituras (atraso de {} ms).", replica.nome, replica.atrasoMillis);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static final class Replica {
+        private final String nome;
+        private final HikariDataSource dataSource;
+        private volatile long atrasoMillis;
+        private volatile boolean disponivel;
+
+        Replica(String nome, HikariDataSource dataSource) {
+            this.nome = nome;
+            this.dataSource = dataSource;
+        }
+
+        int conexoesAtivas() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+    }
+}
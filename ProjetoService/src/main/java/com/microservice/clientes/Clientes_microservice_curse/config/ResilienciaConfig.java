@@ -0,0 +1,35 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ResilienciaConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ResilienciaConfig.class);
+
+    public static final String DISJUNTOR_USER_SERVICE = "user-service";
+    public static final String DISJUNTOR_GROUP_SERVICE = "group-service";
+
+    @Bean
+    public Customizer<Resilience4JCircuitBreakerFactory> transicoesDisjuntoresCustomizer(MeterRegistry meterRegistry) {
+        Customizer<CircuitBreaker> registrarTransicoes = Customizer.once(disjuntor ->
+                disjuntor.getEventPublisher().onStateTransition(evento -> {
+                    CircuitBreaker.StateTransition transicao = evento.getStateTransition();
+                    log.warn("Disjuntor {} mudou de {} para {}.", evento.getCircuitBreakerName(),
+                            transicao.getFromState(), transicao.getToState());
+                    meterRegistry.counter("projetos.disjuntor.transicoes",
+                            "servico", evento.getCircuitBreakerName(),
+                            "de", transicao.getFromState().name(),
+                            "para", transicao.getToState().name()).increment();
+                }), CircuitBreaker::getName);
+        return factory -> factory.addCircuitBreakerCustomizer(registrarTransicoes,
+                DISJUNTOR_USER_SERVICE, DISJUNTOR_GROUP_SERVICE);
+    }
+}
@@ -0,0 +1,149 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.microservice.clientes.Clientes_microservice_curse.event.CacheProjetosInvalidadoEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Envia transações {@code readOnly} a uma réplica e todo o resto ao primário. Precisa ficar
+ * atrás de um {@code LazyConnectionDataSourceProxy}, para que a conexão só seja obtida depois
+ * que a transação marcou se é somente leitura.
+ * <p>
+ * Quem acabou de escrever lê do primário por {@code leitura-propria-escrita} após o commit,
+ * de modo que não veja a própria alteração desaparecer por atraso de replicação. Esse registro
+ * é da instância: sem afinidade de sessão no balanceador, a leitura seguinte pode cair noutra
+ * instância e ir a uma réplica.
+ * <p>
+ * Depois de uma alteração de projetos, feita aqui ou avisada por outra instância, todas as leituras
+ * vão ao primário por {@code atraso-maximo}: são elas que repovoam o cache de segundo nível e
+ * o de consultas, e uma réplica atrasada gravaria ali a versão anterior por toda a expiração.
+ * <p>
+ * Se a réplica escolhida recusa a conexão entre duas verificações de atraso, a leitura vai ao
+ * primário e a réplica sai da escolha até a próxima verificação bem-sucedida.
+ */
+public class RoteadorDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARIO = "primario";
+
+    private final ReplicasLeitura replicas;
+    private final Cache<String, Boolean> usuariosFixados;
+    private final MeterRegistry meterRegistry;
+    private final Ticker ticker;
+    private final long atrasoMaximoNanos;
+    private volatile long leiturasNoPrimarioAte;
+
+    public RoteadorDataSource(DataSource primario, ReplicasLeitura replicas,
+                              RoteamentoDataSourceProperties propriedades, MeterRegistry meterRegistry) {
+        this(primario, replicas, propriedades, meterRegistry, Ticker.systemTicker());
+    }
+
+    RoteadorDataSource(DataSource primario, ReplicasLeitura replicas, RoteamentoDataSourceProperties propriedades,
+                       MeterRegistry meterRegistry, Ticker ticker) {
+        this.replicas = replicas;
+        this.meterRegistry = meterRegistry;
+        this.ticker = ticker;
+        this.atrasoMaximoNanos = propriedades.getAtrasoMaximo().toNanos();
+        this.leiturasNoPrimarioAte = ticker.read();
+        this.usuariosFixados = Caffeine.newBuilder()
+                .expireAfterWrite(propriedades.getLeituraPropriaEscrita())
+                .maximumSize(propriedades.getMaximoUsuariosFixados())
+                .ticker(ticker)
+                .build();
+        Map<Object, Object> destinos = new HashMap<>(replicas.dataSources());
+        destinos.put(PRIMARIO, primario);
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @EventListener
+    public void aoInvalidarCache(CacheProjetosInvalidadoEvent evento) {
+        leiturasNoPrimarioAte = ticker.read() + atrasoMaximoNanos;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conectar(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return conectar(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection conectar(AberturaConexao abertura) throws SQLException {
+        Object chave = determineCurrentLookupKey();
+        try {
+            return abertura.abrir(getResolvedDataSources().get(chave));
+        } catch (SQLException e) {
+            if (PRIMARIO.equals(chave)) throw e;
+            replicas.marcarIndisponivel((String) chave, e);
+            return abertura.abrir(getResolvedDataSources().get(destino(PRIMARIO, "falha-replica")));
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return destino(PRIMARIO, "sem-transacao");
+        }
+        String usuario = usuarioAtual();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (usuario != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        usuariosFixados.put(usuario, Boolean.TRUE);
+                    }
+                });
+            }
+            return destino(PRIMARIO, "escrita");
+        }
+        if (usuario != null && usuariosFixados.getIfPresent(usuario) != null) {
+            return destino(PRIMARIO, "leitura-propria-escrita");
+        }
+        if (ticker.read() - leiturasNoPrimarioAte < 0) {
+            return destino(PRIMARIO, "cache-invalidado");
+        }
+        String replica = replicas.escolher();
+        if (replica == null) {
+            return destino(PRIMARIO, "replicas-indisponiveis");
+        }
+        return destino(replica, "leitura");
+    }
+
+    private String destino(String destino, String motivo) {
+        meterRegistry.counter("projetos.datasource.conexoes", "destino", destino, "motivo", motivo).increment();
+        return destino;
+    }
+
+    private static String usuarioAtual() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    @FunctionalInterface
+    private interface AberturaConexao {
+        Connection abrir(DataSource dataSource) throws SQLException;
+    }
+}
@@ -0,0 +1,48 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Substitui o DataSource único por um roteador entre o primário ({@code spring.datasource})
+ * e as réplicas de {@code roteamento-datasource.replicas}. Desligado por padrão; sem ele, toda
+ * transação usa o primário, como antes.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "roteamento-datasource", name = "habilitado", havingValue = "true")
+public class RoteamentoDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(RoteadorDataSource.PRIMARIO);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicasLeitura replicasLeitura(RoteamentoDataSourceProperties propriedades, MeterRegistry meterRegistry) {
+        return new ReplicasLeitura(propriedades, meterRegistry);
+    }
+
+    @Bean
+    public RoteadorDataSource roteadorDataSource(HikariDataSource dataSourcePrimario, ReplicasLeitura replicasLeitura,
+                                                 RoteamentoDataSourceProperties propriedades, MeterRegistry meterRegistry) {
+        return new RoteadorDataSource(dataSourcePrimario, replicasLeitura, propriedades, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(RoteadorDataSource roteadorDataSource) {
+        return new LazyConnectionDataSourceProxy(roteadorDataSource);
+    }
+}
@@ -0,0 +1,56 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "roteamento-datasource")
+public class RoteamentoDataSourceProperties {
+
+    public enum Estrategia { ROUND_ROBIN, MENOS_CONEXOES }
+
+    private boolean habilitado;
+    private Estrategia estrategia = Estrategia.ROUND_ROBIN;
+    private Duration atrasoMaximo = Duration.ofSeconds(5);
+    private Duration leituraPropriaEscrita = Duration.ofSeconds(5);
+    private long maximoUsuariosFixados = 100_000;
+    private String consultaAtraso = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+            + "else extract(epoch from now() - pg_last_xact_replay_timestamp()) end";
+    private List<Replica> replicas = new ArrayList<>();
+
+    public boolean isHabilitado() { return habilitado; }
+    public void setHabilitado(boolean habilitado) { this.habilitado = habilitado; }
+    public Estrategia getEstrategia() { return estrategia; }
+    public void setEstrategia(Estrategia estrategia) { this.estrategia = estrategia; }
+    public Duration getAtrasoMaximo() { return atrasoMaximo; }
+    public void setAtrasoMaximo(Duration atrasoMaximo) { this.atrasoMaximo = atrasoMaximo; }
+    public Duration getLeituraPropriaEscrita() { return leituraPropriaEscrita; }
+    public void setLeituraPropriaEscrita(Duration leituraPropriaEscrita) { this.leituraPropriaEscrita = leituraPropriaEscrita; }
+    public long getMaximoUsuariosFixados() { return maximoUsuariosFixados; }
+    public void setMaximoUsuariosFixados(long maximoUsuariosFixados) { this.maximoUsuariosFixados = maximoUsuariosFixados; }
+    public String getConsultaAtraso() { return consultaAtraso; }
+    public void setConsultaAtraso(String consultaAtraso) { this.consultaAtraso = consultaAtraso; }
+    public List<Replica> getReplicas() { return replicas; }
+    public void setReplicas(List<Replica> replicas) { this.replicas = replicas; }
+
+    public static class Replica {
+        private String nome;
+        private String url;
+        private String username;
+        private String password;
+        private int maximoConexoes = 10;
+
+        public String getNome() { return nome; }
+        public void setNome(String nome) { this.nome = nome; }
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+        public int getMaximoConexoes() { return maximoConexoes; }
+        public void setMaximoConexoes(int maximoConexoes) { this.maximoConexoes = maximoConexoes; }
+    }
+}
@@ -0,0 +1,60 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Dados do usuário extraídos uma única vez de um token já verificado: o ID do claim
+ * {@code userId}, as authorities e o papel principal usado nas regras de negócio.
+ * <p>
+ * O ID fica nulo quando o claim está ausente ou é inválido; nesse caso o controller volta a
+ * ler o claim para devolver o erro detalhado.
+ */
+public class UsuarioAutenticado {
+
+    private final Jwt jwt;
+    private final String nome;
+    private final Long userId;
+    private final List<GrantedAuthority> authorities;
+    private final String rolePrincipal;
+
+    UsuarioAutenticado(Jwt jwt, String nome, Collection<? extends GrantedAuthority> authorities) {
+        this.jwt = jwt;
+        this.nome = nome;
+        this.userId = extrairUserId(jwt.getClaim("userId"));
+        this.authorities = List.copyOf(authorities);
+        this.rolePrincipal = resolverRolePrincipal(this.authorities);
+    }
+
+    public Jwt getJwt() { return jwt; }
+    public String getNome() { return nome; }
+    public Long getUserId() { return userId; }
+    public List<GrantedAuthority> getAuthorities() { return authorities; }
+    public String getRolePrincipal() { return rolePrincipal; }
+
+    public static String resolverRolePrincipal(Collection<? extends GrantedAuthority> authorities) {
+        boolean professor = false;
+        for (GrantedAuthority authority : authorities) {
+            if ("ROLE_ADMIN".equals(authority.getAuthority())) return "ROLE_ADMIN";
+            if ("ROLE_PROFESSOR".equals(authority.getAuthority())) professor = true;
+        }
+        return professor ? "ROLE_PROFESSOR" : "ROLE_USER";
+    }
+
+    private static Long extrairUserId(Object userIdClaim) {
+        if (userIdClaim instanceof Number) {
+            return ((Number) userIdClaim).longValue();
+        }
+        if (userIdClaim instanceof String) {
+            try {
+                return Long.parseLong((String) userIdClaim);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
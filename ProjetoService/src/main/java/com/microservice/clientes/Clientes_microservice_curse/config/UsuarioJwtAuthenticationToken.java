@@ -0,0 +1,22 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/**
+ * Autenticação JWT que carrega o {@link UsuarioAutenticado} já resolvido. Continua sendo um
+ * {@link JwtAuthenticationToken}, então quem lê o token bruto (como o
+ * {@code FeignClientInterceptor}) não muda.
+ */
+public class UsuarioJwtAuthenticationToken extends JwtAuthenticationToken {
+
+    private final transient UsuarioAutenticado usuario;
+
+    public UsuarioJwtAuthenticationToken(UsuarioAutenticado usuario) {
+        super(usuario.getJwt(), usuario.getAuthorities(), usuario.getNome());
+        this.usuario = usuario;
+    }
+
+    public UsuarioAutenticado getUsuario() {
+        return usuario;
+    }
+}
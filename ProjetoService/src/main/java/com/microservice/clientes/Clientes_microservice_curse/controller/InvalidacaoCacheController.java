@@ -0,0 +1,36 @@
+package com.microservice.clientes.Clientes_microservice_curse.controller;
+
+import com.microservice.clientes.Clientes_microservice_curse.config.CanalInvalidacaoCacheEureka;
+import com.microservice.clientes.Clientes_microservice_curse.dto.InvalidacaoCacheDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Recebe as invalidações de cache enviadas pelas outras instâncias do serviço.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "cache.invalidacao", name = "canal", havingValue = "eureka", matchIfMissing = true)
+public class InvalidacaoCacheController {
+
+    private final CanalInvalidacaoCacheEureka canal;
+
+    @Autowired
+    public InvalidacaoCacheController(CanalInvalidacaoCacheEureka canal) {
+        this.canal = canal;
+    }
+
+    @PostMapping(CanalInvalidacaoCacheEureka.CAMINHO)
+    public ResponseEntity<Void> receber(@RequestBody InvalidacaoCacheDTO invalidacao,
+                                        @RequestHeader(value = CanalInvalidacaoCacheEureka.CABECALHO_SEGREDO, required = false) String segredo) {
+        if (!canal.receber(invalidacao, segredo)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
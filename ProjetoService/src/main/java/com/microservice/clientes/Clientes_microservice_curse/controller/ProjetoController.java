@@ -1,44 +1,79 @@
 package com.microservice.clientes.Clientes_microservice_curse.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.microservice.clientes.Clientes_microservice_curse.config.UsuarioAutenticado;
+import com.microservice.clientes.Clientes_microservice_curse.config.UsuarioJwtAuthenticationToken;
+import com.microservice.clientes.Clientes_microservice_curse.dto.AlteracaoStatusLoteDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.EstatisticasProjetosDTO;
 import com.microservice.clientes.Clientes_microservice_curse.dto.ProjetoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ProjetoEnriquecivel;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ProjetoResumoDTO;
 import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.exception.BuscaTextualIndisponivelException;
+import com.microservice.clientes.Clientes_microservice_curse.exception.ConflitoEstadoProjetoException;
 import com.microservice.clientes.Clientes_microservice_curse.exception.ProjetoNaoEncontradoException;
+import com.microservice.clientes.Clientes_microservice_curse.service.EnriquecimentoProjetoService;
+import com.microservice.clientes.Clientes_microservice_curse.service.EstatisticasProjetoService;
+import com.microservice.clientes.Clientes_microservice_curse.service.FeedProjetosService;
 import com.microservice.clientes.Clientes_microservice_curse.service.GestaoProjetoService;
+import com.microservice.clientes.Clientes_microservice_curse.service.ImportacaoProjetoService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt; // Importante para acessar claims
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken; // Alternativa
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("api/projetos")
 public class ProjetoController {
 
     private static final Logger log = LoggerFactory.getLogger(ProjetoController.class);
+    private static final String TEXT_CSV_VALUE = "text/csv";
     private final GestaoProjetoService gestaoProjetoService;
+    private final ImportacaoProjetoService importacaoProjetoService;
+    private final EstatisticasProjetoService estatisticasProjetoService;
+    private final FeedProjetosService feedProjetosService;
 
     @Autowired
-    public ProjetoController(GestaoProjetoService gestaoProjetoService) {
+    public ProjetoController(GestaoProjetoService gestaoProjetoService, ImportacaoProjetoService importacaoProjetoService,
+                             EstatisticasProjetoService estatisticasProjetoService, FeedProjetosService feedProjetosService) {
         this.gestaoProjetoService = gestaoProjetoService;
+        this.importacaoProjetoService = importacaoProjetoService;
+        this.estatisticasProjetoService = estatisticasProjetoService;
+        this.feedProjetosService = feedProjetosService;
     }
 
-    private Long getUsuarioIdFromAuthentication(Authentication authentication) {
+    Long getUsuarioIdFromAuthentication(Authentication authentication) {
         if (authentication == null) {
             log.warn("Tentativa de obter ID do usuário de uma autenticação nula.");
             throw new IllegalArgumentException("Autenticação não pode ser nula.");
         }
 
+        if (authentication instanceof UsuarioJwtAuthenticationToken) {
+            Long userId = ((UsuarioJwtAuthenticationToken) authentication).getUsuario().getUserId();
+            if (userId != null) {
+                return userId;
+            }
+        }
+
         Object principal = authentication.getPrincipal();
 
         if (principal instanceof Jwt) {
@@ -73,6 +108,13 @@ public class ProjetoController {
         throw new IllegalArgumentException("Autenticação inválida ou não é baseada em JWT, ou não contém o claim 'userId'.");
     }
 
+    private String getRolePrincipal(Authentication authentication) {
+        if (authentication instanceof UsuarioJwtAuthenticationToken) {
+            return ((UsuarioJwtAuthenticationToken) authentication).getUsuario().getRolePrincipal();
+        }
+        return UsuarioAutenticado.resolverRolePrincipal(authentication.getAuthorities());
+    }
+
 
     @PostMapping("/novo-projeto")
     @PreAuthorize("hasRole('PROFESSOR')")
@@ -91,39 +133,197 @@ public class ProjetoController {
         }
     }
 
+    @PostMapping(value = "/importar", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importarProjetosJson(@RequestBody JsonNode projetos, Authentication authentication) {
+        try {
+            return ResponseEntity.ok(importacaoProjetoService.importarJson(projetos, getUsuarioIdFromAuthentication(authentication)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Falha ao importar projetos: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping(value = "/importar", consumes = TEXT_CSV_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importarProjetosCsv(@RequestBody byte[] csv, Authentication authentication) {
+        try {
+            return ResponseEntity.ok(importacaoProjetoService.importarCsv(csv, getUsuarioIdFromAuthentication(authentication)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Falha ao importar projetos: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping ("/listar-projetos")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<ProjetoDTO>> listarProjetos(
+    public ResponseEntity<?> listarProjetos(
             @RequestParam(required = false) StatusProjetoModel status,
-            @RequestParam(required = false) Long professorId) {
-        if (professorId != null) {
+            @RequestParam(required = false) Long professorId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean resumo,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        boolean paginada = cursor != null || limit != null;
+        int limite = limit != null ? limit : GestaoProjetoService.LIMITE_PAGINA_PADRAO;
+        String representacao = fields != null ? "f" + Integer.toHexString(fields.hashCode()) : resumo ? "r" : "c";
+        String etag;
+        if (paginada) {
+            // Só as linhas da página entram na versão; um cursor inválido nunca chega a um 304.
+            try {
+                etag = "\"p" + representacao + "-" + gestaoProjetoService.buscarVersaoPagina(status, professorId, cursor, limite).codificar() + "\"";
+            } catch (IllegalArgumentException e) {
+                log.warn("Falha ao paginar projetos: {}", e.getMessage());
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        } else {
+            etag = "\"l" + representacao + "-" + gestaoProjetoService.buscarVersaoListagem(status, professorId).codificar() + "\"";
+        }
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        if (fields != null) {
+            try {
+                Object projetos = paginada
+                        ? gestaoProjetoService.listarPaginaCampos(fields, status, professorId, cursor, limite)
+                        : gestaoProjetoService.listarCampos(fields, status, professorId);
+                return comEtag(etag, projetos, request);
+            } catch (IllegalArgumentException e) {
+                log.warn("Falha ao listar campos de projetos: {}", e.getMessage());
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
+        if (paginada) {
+            try {
+                Class<? extends ProjetoEnriquecivel> tipo = resumo ? ProjetoResumoDTO.class : ProjetoDTO.class;
+                return comEtag(etag, gestaoProjetoService.listarPagina(status, professorId, cursor, limite, tipo), request);
+            } catch (IllegalArgumentException e) {
+                log.warn("Falha ao paginar projetos: {}", e.getMessage());
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
+        Object projetos;
+        if (resumo) {
+            projetos = gestaoProjetoService.listarResumos(status, professorId);
+        } else if (professorId != null) {
             if (status != null) {
-                return ResponseEntity.ok(gestaoProjetoService.buscarPorProfessorEStatus(professorId, status));
+                projetos = gestaoProjetoService.buscarPorProfessorEStatus(professorId, status);
             } else {
-                log.warn("Listando projetos: professorId fornecido sem status. Implementar lógica específica ou retornar todos os projetos.");
-                return ResponseEntity.ok(gestaoProjetoService.listarTodos());
+                projetos = gestaoProjetoService.buscarPorProfessor(professorId);
             }
         } else if (status != null) {
-            return ResponseEntity.ok(gestaoProjetoService.buscarPorStatus(status));
+            projetos = gestaoProjetoService.buscarPorStatus(status);
         } else {
-            return ResponseEntity.ok(gestaoProjetoService.listarTodos());
+            projetos = gestaoProjetoService.listarTodos();
         }
+        return comEtag(etag, projetos, request);
+    }
+
+    @GetMapping("/estatisticas")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<EstatisticasProjetosDTO> obterEstatisticas(@RequestParam(required = false) Long professorId) {
+        return ResponseEntity.ok(estatisticasProjetoService.obter(professorId));
+    }
+
+    @GetMapping("/buscar")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> buscarProjetos(
+            @RequestParam("q") String termo,
+            @RequestParam(required = false) StatusProjetoModel status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            int limite = limit != null ? limit : GestaoProjetoService.LIMITE_PAGINA_PADRAO;
+            return ResponseEntity.ok(gestaoProjetoService.buscarPorTexto(termo, status, cursor, limite));
+        } catch (IllegalArgumentException e) {
+            log.warn("Falha na busca de projetos: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (BuscaTextualIndisponivelException e) {
+            log.warn("Busca textual indisponível: {}", e.getCause().getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Feed de alterações confirmadas, para substituir o polling de {@code listar-projetos}.
+     * O cabeçalho {@code Last-Event-ID} (ou o parâmetro {@code lastEventId}) retoma o feed.
+     */
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter acompanharAlteracoes(
+            @RequestParam(required = false) StatusProjetoModel status,
+            @RequestParam(required = false) Long professorId,
+            @RequestParam(required = false) String lastEventId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        return feedProjetosService.assinar(status, professorId, ultimoEventoId != null ? ultimoEventoId : lastEventId);
+    }
+
+    @GetMapping(value = "/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> exportarProjetos() {
+        StreamingResponseBody corpo = saida -> gestaoProjetoService.exportarNdjson(saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corpo);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ProjetoDTO> buscarProjetoPorId(@PathVariable Long id) {
-        return gestaoProjetoService.buscarPorId(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<?> buscarProjetoPorId(@PathVariable Long id,
+                                                @RequestParam(required = false) String fields,
+                                                WebRequest request) {
+        Optional<Long> versao = gestaoProjetoService.buscarVersao(id);
+        if (versao.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String sufixo = fields != null ? "-f" + Integer.toHexString(fields.hashCode()) : "";
+        String etag = "\"" + id + "-" + versao.get() + sufixo + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        try {
+            Optional<?> projeto = fields != null
+                    ? gestaoProjetoService.buscarCamposPorId(fields, id)
+                    : gestaoProjetoService.buscarPorId(id);
+            return projeto.<ResponseEntity<?>>map(p -> comEtag(etag, p, request))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            log.warn("Falha ao buscar campos do projeto ID {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * O ETag só cobre a versão das linhas. Se algum nome veio de indisponibilidade por falha do
+     * serviço remoto, a resposta leva um ETag fraco próprio desse estado, que nunca coincide com
+     * o da versão completa: quando o serviço volta, o cliente recebe os nomes em vez de um 304.
+     */
+    private static ResponseEntity<?> comEtag(String etag, Object corpo, WebRequest request) {
+        if (request.getAttribute(EnriquecimentoProjetoService.ATRIBUTO_NOMES_INDISPONIVEIS, RequestAttributes.SCOPE_REQUEST) != null) {
+            // checkNotModified já gravou o ETag forte na resposta; este o substitui.
+            HttpServletResponse resposta = ((NativeWebRequest) request).getNativeResponse(HttpServletResponse.class);
+            resposta.setHeader(HttpHeaders.ETAG, "W/" + etag.substring(0, etag.length() - 1) + "-indisponivel\"");
+            return ResponseEntity.ok().body(corpo);
+        }
+        return ResponseEntity.ok().eTag(etag).body(corpo);
     }
 
     @GetMapping("/nome/{nome}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ProjetoDTO> buscarProjetoPorNome(@PathVariable String nome) {
-        return gestaoProjetoService.buscarPorNome(nome)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<?> buscarProjetoPorNome(@PathVariable String nome,
+                                                  @RequestParam(required = false) String fields) {
+        try {
+            Optional<?> projeto = fields != null
+                    ? gestaoProjetoService.buscarCamposPorNome(fields, nome)
+                    : gestaoProjetoService.buscarPorNome(nome);
+            return projeto.<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            log.warn("Falha ao buscar campos do projeto {}: {}", nome, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @PutMapping("/{id}/aprovar")
@@ -133,6 +333,9 @@ public class ProjetoController {
             return ResponseEntity.ok(gestaoProjetoService.aprovarProjeto(id));
         } catch (ProjetoNaoEncontradoException e) {
             return ResponseEntity.notFound().build();
+        } catch (ConflitoEstadoProjetoException e) {
+            log.warn("Conflito de estado no projeto {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
         } catch (IllegalStateException e) {
             log.warn("Falha ao aprovar projeto {}: {}", id, e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -146,28 +349,41 @@ public class ProjetoController {
             return ResponseEntity.ok(gestaoProjetoService.recusarProjeto(id));
         } catch (ProjetoNaoEncontradoException e) {
             return ResponseEntity.notFound().build();
+        } catch (ConflitoEstadoProjetoException e) {
+            log.warn("Conflito de estado no projeto {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
         } catch (IllegalStateException e) {
             log.warn("Falha ao recusar projeto {}: {}", id, e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    @PutMapping("/status-em-lote")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> alterarStatusEmLote(@Valid @RequestBody AlteracaoStatusLoteDTO alteracao,
+                                                 @RequestParam(defaultValue = "false") boolean enriquecer) {
+        try {
+            return ResponseEntity.ok(gestaoProjetoService.alterarStatusEmLote(alteracao.getIds(), alteracao.getStatus(), enriquecer));
+        } catch (IllegalArgumentException e) {
+            log.warn("Falha ao alterar status em lote: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}/finalizar")
     @PreAuthorize("hasAnyRole('ADMIN', 'PROFESSOR')")
     public ResponseEntity<?> finalizarProjeto(@PathVariable Long id, Authentication authentication) {
         try {
             Long requisitanteId = getUsuarioIdFromAuthentication(authentication);
-            List<String> roles = authentication.getAuthorities().stream()
-                    .map(GrantedAuthority::getAuthority)
-                    .collect(Collectors.toList());
-
-
-            String rolePrincipalRequisitante = roles.contains("ROLE_ADMIN") ? "ROLE_ADMIN" : (roles.contains("ROLE_PROFESSOR") ? "ROLE_PROFESSOR" : "ROLE_USER");
+            String rolePrincipalRequisitante = getRolePrincipal(authentication);
 
             ProjetoDTO projetoFinalizado = gestaoProjetoService.finalizarProjeto(id, requisitanteId, rolePrincipalRequisitante);
             return ResponseEntity.ok(projetoFinalizado);
         } catch (ProjetoNaoEncontradoException e) {
             return ResponseEntity.notFound().build();
+        } catch (ConflitoEstadoProjetoException e) {
+            log.warn("Conflito de estado no projeto {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
         } catch (IllegalStateException | SecurityException e) {
             log.warn("Falha ao finalizar projeto {}: {}", id, e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -182,15 +398,15 @@ public class ProjetoController {
     public ResponseEntity<?> atualizarProjeto(@PathVariable Long id, @Valid @RequestBody ProjetoDTO projetoDTO, Authentication authentication) {
         try {
             Long requisitanteId = getUsuarioIdFromAuthentication(authentication);
-            List<String> roles = authentication.getAuthorities().stream()
-                    .map(GrantedAuthority::getAuthority)
-                    .collect(Collectors.toList());
-            String rolePrincipalRequisitante = roles.contains("ROLE_ADMIN") ? "ROLE_ADMIN" : (roles.contains("ROLE_PROFESSOR") ? "ROLE_PROFESSOR" : "ROLE_USER");
+            String rolePrincipalRequisitante = getRolePrincipal(authentication);
 
             ProjetoDTO projetoAtualizado = gestaoProjetoService.atualizarDados(id, projetoDTO, requisitanteId, rolePrincipalRequisitante);
             return ResponseEntity.ok(projetoAtualizado);
         } catch (ProjetoNaoEncontradoException e) {
             return ResponseEntity.notFound().build();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.warn("Projeto {} alterado por outra requisição durante a atualização.", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "Projeto alterado por outra requisição. Tente novamente."));
         } catch (IllegalArgumentException | SecurityException e) {
             log.warn("Falha ao atualizar projeto {}: {}", id, e.getMessage());
             if (e.getMessage().contains("token JWT") || e.getMessage().contains("Autenticação")) {
@@ -222,6 +438,9 @@ public class ProjetoController {
             return ResponseEntity.ok(projetoAtualizado);
         } catch (ProjetoNaoEncontradoException e) {
             return ResponseEntity.notFound().build();
+        } catch (ConflitoEstadoProjetoException e) {
+            log.warn("Conflito de estado no projeto {}: {}", projetoId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
         } catch (IllegalStateException e) {
             log.warn("Falha ao associar grupo {} ao projeto {}: {}", grupoId, projetoId, e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -236,6 +455,9 @@ public class ProjetoController {
             return ResponseEntity.ok(projetoAtualizado);
         } catch (ProjetoNaoEncontradoException e) {
             return ResponseEntity.notFound().build();
+        } catch (ConflitoEstadoProjetoException e) {
+            log.warn("Conflito de estado no projeto {}: {}", projetoId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
         } catch (IllegalStateException e) {
             log.warn("Falha ao desassociar grupo do projeto {}: {}", projetoId, e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -0,0 +1,35 @@
+package com.microservice.clientes.Clientes_microservice_curse.dto;
+
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+
+/**
+ * Mudança de status de um projeto levada às outras instâncias junto com a invalidação de
+ * cache. O status anterior é nulo na criação e o novo status é nulo na remoção.
+ */
+public class AlteracaoProjetoDTO {
+
+    private Long projetoId;
+    private Long professorCriadorId;
+    private StatusProjetoModel statusAnterior;
+    private StatusProjetoModel statusNovo;
+
+    public AlteracaoProjetoDTO() {
+    }
+
+    public AlteracaoProjetoDTO(Long projetoId, Long professorCriadorId,
+                               StatusProjetoModel statusAnterior, StatusProjetoModel statusNovo) {
+        this.projetoId = projetoId;
+        this.professorCriadorId = professorCriadorId;
+        this.statusAnterior = statusAnterior;
+        this.statusNovo = statusNovo;
+    }
+
+    public Long getProjetoId() { return projetoId; }
+    public void setProjetoId(Long projetoId) { this.projetoId = projetoId; }
+    public Long getProfessorCriadorId() { return professorCriadorId; }
+    public void setProfessorCriadorId(Long professorCriadorId) { this.professorCriadorId = professorCriadorId; }
+    public StatusProjetoModel getStatusAnterior() { return statusAnterior; }
+    public void setStatusAnterior(StatusProjetoModel statusAnterior) { this.statusAnterior = statusAnterior; }
+    public StatusProjetoModel getStatusNovo() { return statusNovo; }
+    public void setStatusNovo(StatusProjetoModel statusNovo) { this.statusNovo = statusNovo; }
+}
@@ -0,0 +1,32 @@
+package com.microservice.clientes.Clientes_microservice_curse.dto;
+
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class AlteracaoStatusLoteDTO {
+
+    public static final int MAXIMO_IDS = 1000;
+
+    @NotEmpty(message = "Informe ao menos um ID de projeto")
+    @Size(max = MAXIMO_IDS, message = "No máximo " + MAXIMO_IDS + " projetos por requisição")
+    private List<Long> ids;
+
+    @NotNull(message = "Status é obrigatório")
+    private StatusProjetoModel status;
+
+    public AlteracaoStatusLoteDTO() {}
+
+    public AlteracaoStatusLoteDTO(List<Long> ids, StatusProjetoModel status) {
+        this.ids = ids;
+        this.status = status;
+    }
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+    public StatusProjetoModel getStatus() { return status; }
+    public void setStatus(StatusProjetoModel status) { this.status = status; }
+}
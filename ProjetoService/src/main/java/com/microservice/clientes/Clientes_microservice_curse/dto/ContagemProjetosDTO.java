@@ -0,0 +1,20 @@
+package com.microservice.clientes.Clientes_microservice_curse.dto;
+
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+
+public class ContagemProjetosDTO {
+
+    private final Long professorCriadorId;
+    private final StatusProjetoModel status;
+    private final long total;
+
+    public ContagemProjetosDTO(Long professorCriadorId, StatusProjetoModel status, long total) {
+        this.professorCriadorId = professorCriadorId;
+        this.status = status;
+        this.total = total;
+    }
+
+    public Long getProfessorCriadorId() { return professorCriadorId; }
+    public StatusProjetoModel getStatus() { return status; }
+    public long getTotal() { return total; }
+}
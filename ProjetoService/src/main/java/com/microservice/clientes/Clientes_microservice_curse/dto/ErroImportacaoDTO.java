@@ -0,0 +1,18 @@
+package com.microservice.clientes.Clientes_microservice_curse.dto;
+
+public class ErroImportacaoDTO {
+
+    private final int linha;
+    private final String nome;
+    private final String mensagem;
+
+    public ErroImportacaoDTO(int linha, String nome, String mensagem) {
+        this.linha = linha;
+        this.nome = nome;
+        this.mensagem = mensagem;
+    }
+
+    public int getLinha() { return linha; }
+    public String getNome() { return nome; }
+    public String getMensagem() { return mensagem; }
+}
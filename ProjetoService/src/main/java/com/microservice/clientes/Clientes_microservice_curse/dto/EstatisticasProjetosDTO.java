@@ -0,0 +1,23 @@
+package com.microservice.clientes.Clientes_microservice_curse.dto;
+
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+
+import java.util.Map;
+
+public class EstatisticasProjetosDTO {
+
+    private final long total;
+    private final Map<StatusProjetoModel, Long> porStatus;
+    private final Map<Long, Map<StatusProjetoModel, Long>> porProfessor;
+
+    public EstatisticasProjetosDTO(long total, Map<StatusProjetoModel, Long> porStatus,
+                                   Map<Long, Map<StatusProjetoModel, Long>> porProfessor) {
+        this.total = total;
+        this.porStatus = porStatus;
+        this.porProfessor = porProfessor;
+    }
+
+    public long getTotal() { return total; }
+    public Map<StatusProjetoModel, Long> getPorStatus() { return porStatus; }
+    public Map<Long, Map<StatusProjetoModel, Long>> getPorProfessor() { return porProfessor; }
+}
@@ -0,0 +1,36 @@
+package com.microservice.clientes.Clientes_microservice_curse.dto;
+
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+
+import java.time.Instant;
+
+/**
+ * Alteração de projeto entregue pelo feed. O status anterior é nulo na criação e o novo
+ * status é nulo na remoção.
+ */
+public class EventoFeedProjetoDTO {
+
+    private final String id;
+    private final Long projetoId;
+    private final Long professorCriadorId;
+    private final StatusProjetoModel statusAnterior;
+    private final StatusProjetoModel statusNovo;
+    private final Instant ocorridoEm;
+
+    public EventoFeedProjetoDTO(String id, Long projetoId, Long professorCriadorId,
+                                StatusProjetoModel statusAnterior, StatusProjetoModel statusNovo, Instant ocorridoEm) {
+        this.id = id;
+        this.projetoId = projetoId;
+        this.professorCriadorId = professorCriadorId;
+        this.statusAnterior = statusAnterior;
+        this.statusNovo = statusNovo;
+        this.ocorridoEm = ocorridoEm;
+    }
+
+    public String getId() { return id; }
+    public Long getProjetoId() { return projetoId; }
+    public Long getProfessorCriadorId() { return professorCriadorId; }
+    public StatusProjetoModel getStatusAnterior() { return statusAnterior; }
+    public StatusProjetoModel getStatusNovo() { return statusNovo; }
+    public Instant getOcorridoEm() { return ocorridoEm; }
+}
@@ -0,0 +1,40 @@
+package com.microservice.clientes.Clientes_microservice_curse.dto;
+
+import com.microservice.clientes.Clientes_microservice_curse.enums.TipoEventoProjeto;
+
+import java.time.Instant;
+
+/**
+ * Evento enviado ao group-service. O ID é o da linha do outbox e permite ao destinatário
+ * descartar reenvios.
+ */
+public class EventoProjetoDTO {
+
+    private Long id;
+    private Long projetoId;
+    private TipoEventoProjeto tipo;
+    private Long grupoId;
+    private Instant ocorridoEm;
+
+    public EventoProjetoDTO() {
+    }
+
+    public EventoProjetoDTO(Long id, Long projetoId, TipoEventoProjeto tipo, Long grupoId, Instant ocorridoEm) {
+        this.id = id;
+        this.projetoId = projetoId;
+        this.tipo = tipo;
+        this.grupoId = grupoId;
+        this.ocorridoEm = ocorridoEm;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getProjetoId() { return projetoId; }
+    public void setProjetoId(Long projetoId) { this.projetoId = projetoId; }
+    public TipoEventoProjeto getTipo() { return tipo; }
+    public void setTipo(TipoEventoProjeto tipo) { this.tipo = tipo; }
+    public Long getGrupoId() { return grupoId; }
+    public void setGrupoId(Long grupoId) { this.grupoId = grupoId; }
+    public Instant getOcorridoEm() { return ocorridoEm; }
+    public void setOcorridoEm(Instant ocorridoEm) { this.ocorridoEm = ocorridoEm; }
+}
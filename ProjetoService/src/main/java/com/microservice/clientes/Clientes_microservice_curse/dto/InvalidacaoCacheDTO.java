@@ -0,0 +1,30 @@
+package com.microservice.clientes.Clientes_microservice_curse.dto;
+
+import java.util.List;
+
+/**
+ * Projetos alterados por uma transação confirmada em outra instância. {@code alteracoes} traz
+ * as mudanças de status da transação, para o feed; é nulo em mensagens de versões anteriores.
+ */
+public class InvalidacaoCacheDTO {
+
+    private String origem;
+    private List<Long> projetoIds;
+    private List<AlteracaoProjetoDTO> alteracoes;
+
+    public InvalidacaoCacheDTO() {
+    }
+
+    public InvalidacaoCacheDTO(String origem, List<Long> projetoIds, List<AlteracaoProjetoDTO> alteracoes) {
+        this.origem = origem;
+        this.projetoIds = projetoIds;
+        this.alteracoes = alteracoes;
+    }
+
+    public String getOrigem() { return origem; }
+    public void setOrigem(String origem) { this.origem = origem; }
+    public List<Long> getProjetoIds() { return projetoIds; }
+    public void setProjetoIds(List<Long> projetoIds) { this.projetoIds = projetoIds; }
+    public List<AlteracaoProjetoDTO> getAlteracoes() { return alteracoes; }
+    public void setAlteracoes(List<AlteracaoProjetoDTO> alteracoes) { this.alteracoes = alteracoes; }
+}
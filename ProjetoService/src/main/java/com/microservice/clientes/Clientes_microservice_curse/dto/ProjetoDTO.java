@@ -3,9 +3,10 @@ package com.microservice.clientes.Clientes_microservice_curse.dto;
 import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.annotation.PersistenceCreator;
 import java.sql.Date;
 
-public class ProjetoDTO {
+public class ProjetoDTO implements ProjetoEnriquecivel {
 
     private Long id;
 
@@ -43,6 +44,11 @@ public class ProjetoDTO {
         this.nomeGrupo = nomeGrupo;
     }
 
+    @PersistenceCreator
+    public ProjetoDTO(Long id, String nome, String objetivo, String escopoResumo, String publicoAlvo, Date dataInicio, StatusProjetoModel status, Long professorCriadorId, Long grupoId) {
+        this(id, nome, objetivo, escopoResumo, publicoAlvo, dataInicio, status, professorCriadorId, null, grupoId, null);
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public String getNome() { return nome; }
@@ -0,0 +1,18 @@
+package com.microservice.clientes.Clientes_microservice_curse.dto;
+
+/**
+ * Representação de projeto que recebe os nomes de professor e grupo resolvidos nos serviços
+ * remotos.
+ */
+public interface ProjetoEnriquecivel {
+
+    Long getId();
+
+    Long getProfessorCriadorId();
+
+    Long getGrupoId();
+
+    void setNomeProfessorCriador(String nomeProfessorCriador);
+
+    void setNomeGrupo(String nomeGrupo);
+}
@@ -0,0 +1,48 @@
+package com.microservice.clientes.Clientes_microservice_curse.dto;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Map;
+
+/**
+ * Projeto com apenas os campos pedidos em {@code fields=}, serializado como um objeto com
+ * esses campos na ordem pedida. Os IDs de professor e grupo usados no enriquecimento ficam
+ * fora do JSON quando não foram pedidos, e são nulos quando o nome correspondente não foi
+ * pedido, para que o enriquecimento não consulte o serviço à toa.
+ */
+public class ProjetoParcialDTO implements ProjetoEnriquecivel {
+
+    private final Long id;
+    private final Long professorCriadorId;
+    private final Long grupoId;
+    private final Map<String, Object> campos;
+
+    public ProjetoParcialDTO(Long id, Long professorCriadorId, Long grupoId, Map<String, Object> campos) {
+        this.id = id;
+        this.professorCriadorId = professorCriadorId;
+        this.grupoId = grupoId;
+        this.campos = campos;
+    }
+
+    @Override
+    public Long getId() { return id; }
+
+    @Override
+    public Long getProfessorCriadorId() { return professorCriadorId; }
+
+    @Override
+    public Long getGrupoId() { return grupoId; }
+
+    @Override
+    public void setNomeProfessorCriador(String nomeProfessorCriador) {
+        campos.put("nomeProfessorCriador", nomeProfessorCriador);
+    }
+
+    @Override
+    public void setNomeGrupo(String nomeGrupo) {
+        campos.put("nomeGrupo", nomeGrupo);
+    }
+
+    @JsonValue
+    public Map<String, Object> getCampos() { return campos; }
+}
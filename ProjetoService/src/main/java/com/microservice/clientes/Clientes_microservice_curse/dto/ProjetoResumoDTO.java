@@ -0,0 +1,39 @@
+package com.microservice.clientes.Clientes_microservice_curse.dto;
+
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+import java.sql.Date;
+
+/**
+ * Modelo de leitura para listagens. Não carrega as colunas de texto longo do projeto.
+ */
+public class ProjetoResumoDTO implements ProjetoEnriquecivel {
+
+    private final Long id;
+    private final String nome;
+    private final StatusProjetoModel status;
+    private final Date dataInicio;
+    private final Long professorCriadorId;
+    private String nomeProfessorCriador;
+    private final Long grupoId;
+    private String nomeGrupo;
+
+    public ProjetoResumoDTO(Long id, String nome, StatusProjetoModel status, Date dataInicio, Long professorCriadorId, Long grupoId) {
+        this.id = id;
+        this.nome = nome;
+        this.status = status;
+        this.dataInicio = dataInicio;
+        this.professorCriadorId = professorCriadorId;
+        this.grupoId = grupoId;
+    }
+
+    public Long getId() { return id; }
+    public String getNome() { return nome; }
+    public StatusProjetoModel getStatus() { return status; }
+    public Date getDataInicio() { return dataInicio; }
+    public Long getProfessorCriadorId() { return professorCriadorId; }
+    public String getNomeProfessorCriador() { return nomeProfessorCriador; }
+    public void setNomeProfessorCriador(String nomeProfessorCriador) { this.nomeProfessorCriador = nomeProfessorCriador; }
+    public Long getGrupoId() { return grupoId; }
+    public String getNomeGrupo() { return nomeGrupo; }
+    public void setNomeGrupo(String nomeGrupo) { this.nomeGrupo = nomeGrupo; }
+}
@@ -0,0 +1,28 @@
+package com.microservice.clientes.Clientes_microservice_curse.dto;
+
+import com.microservice.clientes.Clientes_microservice_curse.enums.ResultadoAlteracaoStatus;
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+
+/**
+ * Resultado da alteração de status de um projeto dentro de uma operação em lote. O projeto
+ * só é preenchido quando o chamador pede o enriquecimento.
+ */
+public class ResultadoAlteracaoStatusDTO {
+
+    private final Long id;
+    private final ResultadoAlteracaoStatus resultado;
+    private final StatusProjetoModel status;
+    private ProjetoResumoDTO projeto;
+
+    public ResultadoAlteracaoStatusDTO(Long id, ResultadoAlteracaoStatus resultado, StatusProjetoModel status) {
+        this.id = id;
+        this.resultado = resultado;
+        this.status = status;
+    }
+
+    public Long getId() { return id; }
+    public ResultadoAlteracaoStatus getResultado() { return resultado; }
+    public StatusProjetoModel getStatus() { return status; }
+    public ProjetoResumoDTO getProjeto() { return projeto; }
+    public void setProjeto(ProjetoResumoDTO projeto) { this.projeto = projeto; }
+}
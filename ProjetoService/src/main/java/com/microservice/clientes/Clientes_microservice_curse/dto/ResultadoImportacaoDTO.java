@@ -0,0 +1,24 @@
+package com.microservice.clientes.Clientes_microservice_curse.dto;
+
+import java.util.List;
+
+/**
+ * Resumo de uma importação em lote. As linhas são numeradas a partir de 1, na ordem do
+ * arquivo, sem contar o cabeçalho do CSV.
+ */
+public class ResultadoImportacaoDTO {
+
+    private final int totalLinhas;
+    private final int importados;
+    private final List<ErroImportacaoDTO> erros;
+
+    public ResultadoImportacaoDTO(int totalLinhas, int importados, List<ErroImportacaoDTO> erros) {
+        this.totalLinhas = totalLinhas;
+        this.importados = importados;
+        this.erros = erros;
+    }
+
+    public int getTotalLinhas() { return totalLinhas; }
+    public int getImportados() { return importados; }
+    public List<ErroImportacaoDTO> getErros() { return erros; }
+}
@@ -0,0 +1,27 @@
+package com.microservice.clientes.Clientes_microservice_curse.dto;
+
+/**
+ * Resumo barato de um conjunto de projetos usado como versão da listagem. Inserções e
+ * remoções mudam a quantidade ou a soma dos IDs; qualquer escrita num projeto incrementa a
+ * sua versão e, portanto, a soma das versões.
+ */
+public class VersaoListagemDTO {
+
+    private final long total;
+    private final long somaVersoes;
+    private final long somaIds;
+
+    public VersaoListagemDTO(long total, long somaVersoes, long somaIds) {
+        this.total = total;
+        this.somaVersoes = somaVersoes;
+        this.somaIds = somaIds;
+    }
+
+    public long getTotal() { return total; }
+    public long getSomaVersoes() { return somaVersoes; }
+    public long getSomaIds() { return somaIds; }
+
+    public String codificar() {
+        return Long.toString(total, 36) + "." + Long.toString(somaVersoes, 36) + "." + Long.toString(somaIds, 36);
+    }
+}
@@ -0,0 +1,15 @@
+package com.microservice.clientes.Clientes_microservice_curse.dto;
+
+public class VersaoProjetoDTO {
+
+    private final Long id;
+    private final Long versao;
+
+    public VersaoProjetoDTO(Long id, Long versao) {
+        this.id = id;
+        this.versao = versao;
+    }
+
+    public Long getId() { return id; }
+    public Long getVersao() { return versao; }
+}
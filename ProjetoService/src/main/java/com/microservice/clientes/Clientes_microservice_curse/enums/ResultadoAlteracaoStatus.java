@@ -0,0 +1,7 @@
+package com.microservice.clientes.Clientes_microservice_curse.enums;
+
+public enum ResultadoAlteracaoStatus {
+    ATUALIZADO,
+    NAO_ENCONTRADO,
+    ESTADO_INVALIDO
+}
@@ -0,0 +1,7 @@
+package com.microservice.clientes.Clientes_microservice_curse.enums;
+
+public enum TipoEventoProjeto {
+    PROJETO_FINALIZADO,
+    GRUPO_ASSOCIADO,
+    GRUPO_DESASSOCIADO
+}
@@ -0,0 +1,19 @@
+package com.microservice.clientes.Clientes_microservice_curse.event;
+
+/**
+ * Publicado quando projetos alterados saem do cache de segundo nível: após o commit na
+ * instância que escreveu e ao receber o aviso de outra instância ({@code remota}).
+ */
+public class CacheProjetosInvalidadoEvent {
+
+    private final int quantidadeProjetos;
+    private final boolean remota;
+
+    public CacheProjetosInvalidadoEvent(int quantidadeProjetos, boolean remota) {
+        this.quantidadeProjetos = quantidadeProjetos;
+        this.remota = remota;
+    }
+
+    public int getQuantidadeProjetos() { return quantidadeProjetos; }
+    public boolean isRemota() { return remota; }
+}
@@ -0,0 +1,16 @@
+package com.microservice.clientes.Clientes_microservice_curse.event;
+
+/**
+ * Publicado dentro da transação que alterou dados do projeto sem mudar seu status, como a
+ * edição dos campos ou a associação de grupo.
+ */
+public class DadosProjetoAlteradosEvent {
+
+    private final Long projetoId;
+
+    public DadosProjetoAlteradosEvent(Long projetoId) {
+        this.projetoId = projetoId;
+    }
+
+    public Long getProjetoId() { return projetoId; }
+}
@@ -0,0 +1,36 @@
+package com.microservice.clientes.Clientes_microservice_curse.event;
+
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+
+/**
+ * Publicado dentro da transação que criou, removeu ou mudou o status de um projeto. O status
+ * anterior é nulo na criação e o novo status é nulo na remoção.
+ */
+public class ProjetoAlteradoEvent {
+
+    private final Long projetoId;
+    private final Long professorCriadorId;
+    private final StatusProjetoModel statusAnterior;
+    private final StatusProjetoModel statusNovo;
+
+    public ProjetoAlteradoEvent(Long projetoId, Long professorCriadorId,
+                                StatusProjetoModel statusAnterior, StatusProjetoModel statusNovo) {
+        this.projetoId = projetoId;
+        this.professorCriadorId = professorCriadorId;
+        this.statusAnterior = statusAnterior;
+        this.statusNovo = statusNovo;
+    }
+
+    public static ProjetoAlteradoEvent criado(Long projetoId, Long professorCriadorId, StatusProjetoModel status) {
+        return new ProjetoAlteradoEvent(projetoId, professorCriadorId, null, status);
+    }
+
+    public static ProjetoAlteradoEvent removido(Long projetoId, Long professorCriadorId, StatusProjetoModel status) {
+        return new ProjetoAlteradoEvent(projetoId, professorCriadorId, status, null);
+    }
+
+    public Long getProjetoId() { return projetoId; }
+    public Long getProfessorCriadorId() { return professorCriadorId; }
+    public StatusProjetoModel getStatusAnterior() { return statusAnterior; }
+    public StatusProjetoModel getStatusNovo() { return statusNovo; }
+}
@@ -0,0 +1,18 @@
+package com.microservice.clientes.Clientes_microservice_curse.event;
+
+import java.util.List;
+
+/**
+ * Publicado ao receber, pelo canal de invalidação, as alterações confirmadas numa transação de
+ * outra instância, na ordem em que aconteceram.
+ */
+public class ProjetosAlteradosEmOutraInstanciaEvent {
+
+    private final List<ProjetoAlteradoEvent> alteracoes;
+
+    public ProjetosAlteradosEmOutraInstanciaEvent(List<ProjetoAlteradoEvent> alteracoes) {
+        this.alteracoes = alteracoes;
+    }
+
+    public List<ProjetoAlteradoEvent> getAlteracoes() { return alteracoes; }
+}
@@ -0,0 +1,15 @@
+package com.microservice.clientes.Clientes_microservice_curse.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * O banco em uso não tem a busca textual (coluna {@code busca} e índice GIN), que só existe
+ * no PostgreSQL.
+ */
+@ResponseStatus(HttpStatus.NOT_IMPLEMENTED)
+public class BuscaTextualIndisponivelException extends RuntimeException {
+    public BuscaTextualIndisponivelException(String mensagem, Throwable causa) {
+        super(mensagem, causa);
+    }
+}
@@ -0,0 +1,15 @@
+package com.microservice.clientes.Clientes_microservice_curse.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * O projeto existe, mas não estava no estado exigido pela operação no momento da escrita,
+ * seja porque nunca esteve ou porque outra requisição o alterou antes.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConflitoEstadoProjetoException extends IllegalStateException {
+    public ConflitoEstadoProjetoException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,14 @@
+package com.microservice.clientes.Clientes_microservice_curse.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * O feed de alterações já atende o número máximo de conexões abertas.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class LimiteAssinaturasException extends RuntimeException {
+    public LimiteAssinaturasException(String mensagem) {
+        super(mensagem);
+    }
+}
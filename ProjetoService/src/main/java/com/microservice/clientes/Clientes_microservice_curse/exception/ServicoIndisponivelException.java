@@ -0,0 +1,7 @@
+package com.microservice.clientes.Clientes_microservice_curse.exception;
+
+public class ServicoIndisponivelException extends RuntimeException {
+    public ServicoIndisponivelException(String mensagem, Throwable causa) {
+        super(mensagem, causa);
+    }
+}
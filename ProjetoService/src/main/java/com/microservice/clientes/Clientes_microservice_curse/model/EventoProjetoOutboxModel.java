@@ -0,0 +1,62 @@
+package com.microservice.clientes.Clientes_microservice_curse.model;
+
+import com.microservice.clientes.Clientes_microservice_curse.enums.TipoEventoProjeto;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "eventos_projeto_outbox")
+public class EventoProjetoOutboxModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eventos_projeto_outbox_seq")
+    @SequenceGenerator(name = "eventos_projeto_outbox_seq", sequenceName = "eventos_projeto_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "projeto_id", nullable = false)
+    private Long projetoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private TipoEventoProjeto tipo;
+
+    @Column(name = "grupo_id")
+    private Long grupoId;
+
+    @Column(name = "criado_em", nullable = false)
+    private Instant criadoEm;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    @Column(name = "proxima_tentativa_em", nullable = false)
+    private Instant proximaTentativaEm;
+
+    @Column(name = "ultimo_erro", length = 500)
+    private String ultimoErro;
+
+    @Column(name = "estacionado_em")
+    private Instant estacionadoEm;
+
+    public EventoProjetoOutboxModel() {
+    }
+
+    public EventoProjetoOutboxModel(Long projetoId, TipoEventoProjeto tipo, Long grupoId, Instant criadoEm) {
+        this.projetoId = projetoId;
+        this.tipo = tipo;
+        this.grupoId = grupoId;
+        this.criadoEm = criadoEm;
+        this.proximaTentativaEm = criadoEm;
+    }
+
+    public Long getId() { return id; }
+    public Long getProjetoId() { return projetoId; }
+    public TipoEventoProjeto getTipo() { return tipo; }
+    public Long getGrupoId() { return grupoId; }
+    public Instant getCriadoEm() { return criadoEm; }
+    public int getTentativas() { return tentativas; }
+    public Instant getProximaTentativaEm() { return proximaTentativaEm; }
+    public String getUltimoErro() { return ultimoErro; }
+    public Instant getEstacionadoEm() { return estacionadoEm; }
+}
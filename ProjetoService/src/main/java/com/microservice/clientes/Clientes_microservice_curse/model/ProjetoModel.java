@@ -5,17 +5,23 @@ import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjeto
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.io.Serializable;
 import java.sql.Date;
 
 @Entity
 @Table(name = "projetos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ProjetoModel.REGIAO_CACHE)
 public class ProjetoModel implements Serializable {
 
     private static final long serialVersionUID = 1L;
+    public static final String REGIAO_CACHE = "projetos";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projetos_seq")
+    @SequenceGenerator(name = "projetos_seq", sequenceName = "projetos_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Nome do projeto não pode ser vazio")
@@ -43,6 +49,9 @@ public class ProjetoModel implements Serializable {
     @Column(name = "grupo_id", unique = true, nullable = true)
     private Long grupoId;
 
+    @Version
+    private Long versao;
+
     public ProjetoModel() {
     }
 
@@ -75,6 +84,7 @@ public class ProjetoModel implements Serializable {
     public void setProfessorCriadorId(Long professorCriadorId) { this.professorCriadorId = professorCriadorId; }
     public Long getGrupoId() { return grupoId; }
     public void setGrupoId(Long grupoId) { this.grupoId = grupoId; }
+    public Long getVersao() { return versao; }
 
     @Override
     public String toString() {
@@ -84,6 +94,7 @@ public class ProjetoModel implements Serializable {
                 ", status=" + status +
                 ", professorCriadorId=" + professorCriadorId +
                 ", grupoId=" + grupoId +
+                ", versao=" + versao +
                 '}';
     }
 }
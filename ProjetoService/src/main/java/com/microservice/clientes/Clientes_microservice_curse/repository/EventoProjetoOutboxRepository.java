@@ -0,0 +1,59 @@
+package com.microservice.clientes.Clientes_microservice_curse.repository;
+
+import com.microservice.clientes.Clientes_microservice_curse.model.EventoProjetoOutboxModel;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EventoProjetoOutboxRepository extends JpaRepository<EventoProjetoOutboxModel, Long> {
+
+    /**
+     * Eventos que já podem ser enviados, em ordem de gravação, travados com
+     * {@code FOR UPDATE SKIP LOCKED} para que instâncias concorrentes reservem lotes disjuntos.
+     * Só entra o evento mais antigo ainda não estacionado de cada projeto: os seguintes esperam
+     * a confirmação dele, o que preserva a ordem por projeto mesmo com o anterior reservado por
+     * outra instância.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from EventoProjetoOutboxModel e where e.estacionadoEm is null " +
+            "and e.proximaTentativaEm <= :agora and not exists (" +
+            "select a.id from EventoProjetoOutboxModel a where a.projetoId = e.projetoId and a.id < e.id " +
+            "and a.estacionadoEm is null) order by e.id")
+    List<EventoProjetoOutboxModel> findProntosParaEnvio(Instant agora, Limit limite);
+
+    @Query("select min(e.criadoEm) from EventoProjetoOutboxModel e where e.estacionadoEm is null")
+    Optional<Instant> findCriadoEmMaisAntigo();
+
+    long countByEstacionadoEmIsNotNull();
+
+    /**
+     * Adia os eventos reservados até {@code ate}; uma instância que cair no meio do envio libera
+     * o lote quando a reserva vence.
+     */
+    @Modifying
+    @Query("update EventoProjetoOutboxModel e set e.proximaTentativaEm = :ate where e.id in :ids")
+    int reservar(Collection<Long> ids, Instant ate);
+
+    @Modifying
+    @Query("update EventoProjetoOutboxModel e set e.tentativas = e.tentativas + 1, " +
+            "e.proximaTentativaEm = :proximaTentativaEm, e.ultimoErro = :erro where e.id in :ids")
+    int registrarFalha(Collection<Long> ids, Instant proximaTentativaEm, String erro);
+
+    @Modifying
+    @Query("update EventoProjetoOutboxModel e set e.tentativas = e.tentativas + 1, " +
+            "e.estacionadoEm = :agora, e.ultimoErro = :erro where e.id in :ids")
+    int estacionar(Collection<Long> ids, Instant agora, String erro);
+}
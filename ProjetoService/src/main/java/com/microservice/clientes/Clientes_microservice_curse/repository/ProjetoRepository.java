@@ -1,16 +1,31 @@
 package com.microservice.clientes.Clientes_microservice_curse.repository;
 
+import com.microservice.clientes.Clientes_microservice_curse.dto.ContagemProjetosDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.VersaoListagemDTO;
 import com.microservice.clientes.Clientes_microservice_curse.model.ProjetoModel;
 import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProjetoRepository extends JpaRepository<ProjetoModel, Long> {
 
+    /**
+     * Região do cache de consultas usada pelos finders de leitura frequente. O Hibernate
+     * invalida essas entradas a cada escrita na tabela {@code projetos}.
+     */
+    String REGIAO_CONSULTAS = "projetos-consultas";
+
     Optional<ProjetoModel> findByNome(String nome);
 
     List<ProjetoModel> findByStatus(StatusProjetoModel status);
@@ -20,4 +35,130 @@ public interface ProjetoRepository extends JpaRepository<ProjetoModel, Long> {
     List<ProjetoModel> findByProfessorCriadorId(Long professorCriadorId);
 
     Optional<ProjetoModel> findByGrupoId(Long grupoId);
+
+    <T> Optional<T> findProjetadoById(Long id, Class<T> tipo);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_CONSULTAS)
+    })
+    <T> Optional<T> findProjetadoByNome(String nome, Class<T> tipo);
+
+    <T> List<T> findProjetadosByOrderByIdAsc(Class<T> tipo);
+
+    <T> List<T> findByIdIn(Collection<Long> ids, Class<T> tipo);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_CONSULTAS)
+    })
+    <T> List<T> findByStatus(StatusProjetoModel status, Class<T> tipo);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_CONSULTAS)
+    })
+    <T> List<T> findByProfessorCriadorId(Long professorCriadorId, Class<T> tipo);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_CONSULTAS)
+    })
+    <T> List<T> findByProfessorCriadorIdAndStatus(Long professorCriadorId, StatusProjetoModel status, Class<T> tipo);
+
+    <T> List<T> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit, Class<T> tipo);
+
+    <T> List<T> findByStatusAndIdGreaterThanOrderByIdAsc(StatusProjetoModel status, Long id, Limit limit, Class<T> tipo);
+
+    <T> List<T> findByProfessorCriadorIdAndIdGreaterThanOrderByIdAsc(Long professorCriadorId, Long id, Limit limit, Class<T> tipo);
+
+    <T> List<T> findByProfessorCriadorIdAndStatusAndIdGreaterThanOrderByIdAsc(Long professorCriadorId, StatusProjetoModel status,
+                                                                              Long id, Limit limit, Class<T> tipo);
+
+    /**
+     * Ranqueia todas as linhas que o índice GIN encontra para o termo. Com o {@code limit}, o
+     * PostgreSQL ordena só os {@code posicao + limite} primeiros (top-N), sem ordenar o conjunto
+     * inteiro; o teto da paginação fica no serviço.
+     */
+    @Query(value = "select p.id from projetos p, websearch_to_tsquery('portuguese', :termo) q " +
+            "where p.busca @@ q " +
+            "order by ts_rank(p.busca, q) desc, p.id " +
+            "limit :limite offset :posicao", nativeQuery = true)
+    List<Long> buscarIdsPorTexto(String termo, int limite, long posicao);
+
+    @Query(value = "select p.id from projetos p, websearch_to_tsquery('portuguese', :termo) q " +
+            "where p.busca @@ q and p.status = :status " +
+            "order by ts_rank(p.busca, q) desc, p.id " +
+            "limit :limite offset :posicao", nativeQuery = true)
+    List<Long> buscarIdsPorTextoEStatus(String termo, String status, int limite, long posicao);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_CONSULTAS)
+    })
+    @Query("select new com.microservice.clientes.Clientes_microservice_curse.dto.VersaoListagemDTO(" +
+            "count(p), coalesce(sum(p.versao), 0L), coalesce(sum(p.id), 0L)) from ProjetoModel p")
+    VersaoListagemDTO versaoDeTodos();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_CONSULTAS)
+    })
+    @Query("select new com.microservice.clientes.Clientes_microservice_curse.dto.VersaoListagemDTO(" +
+            "count(p), coalesce(sum(p.versao), 0L), coalesce(sum(p.id), 0L)) from ProjetoModel p where p.status = :status")
+    VersaoListagemDTO versaoPorStatus(StatusProjetoModel status);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_CONSULTAS)
+    })
+    @Query("select new com.microservice.clientes.Clientes_microservice_curse.dto.VersaoListagemDTO(" +
+            "count(p), coalesce(sum(p.versao), 0L), coalesce(sum(p.id), 0L)) from ProjetoModel p " +
+            "where p.professorCriadorId = :professorCriadorId")
+    VersaoListagemDTO versaoPorProfessor(Long professorCriadorId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_CONSULTAS)
+    })
+    @Query("select new com.microservice.clientes.Clientes_microservice_curse.dto.VersaoListagemDTO(" +
+            "count(p), coalesce(sum(p.versao), 0L), coalesce(sum(p.id), 0L)) from ProjetoModel p " +
+            "where p.professorCriadorId = :professorCriadorId and p.status = :status")
+    VersaoListagemDTO versaoPorProfessorEStatus(Long professorCriadorId, StatusProjetoModel status);
+
+    @Query("select new com.microservice.clientes.Clientes_microservice_curse.dto.ContagemProjetosDTO(" +
+            "p.professorCriadorId, p.status, count(p)) from ProjetoModel p group by p.professorCriadorId, p.status")
+    List<ContagemProjetosDTO> contarPorProfessorEStatus();
+
+    @Query("select p.nome from ProjetoModel p where p.nome in :nomes")
+    List<String> findNomesExistentes(Collection<String> nomes);
+
+    @Query("select p.grupoId from ProjetoModel p where p.grupoId in :grupoIds")
+    List<Long> findGrupoIdsEmUso(Collection<Long> grupoIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ProjetoModel p set p.status = :novoStatus, p.versao = p.versao + 1 " +
+            "where p.id in :ids and p.status = :statusOrigem")
+    int atualizarStatusEmLote(Collection<Long> ids, StatusProjetoModel statusOrigem, StatusProjetoModel novoStatus);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ProjetoModel p set p.status = :novoStatus, p.versao = p.versao + 1 " +
+            "where p.id = :id and p.status = :statusOrigem")
+    int atualizarStatusSe(Long id, StatusProjetoModel statusOrigem, StatusProjetoModel novoStatus);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ProjetoModel p set p.status = :novoStatus, p.versao = p.versao + 1 " +
+            "where p.id = :id and p.status = :statusOrigem and p.professorCriadorId = :professorCriadorId")
+    int atualizarStatusDoProfessorSe(Long id, Long professorCriadorId, StatusProjetoModel statusOrigem,
+                                     StatusProjetoModel novoStatus);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ProjetoModel p set p.grupoId = :grupoId, p.versao = p.versao + 1 " +
+            "where p.id = :id and p.status = :statusExigido and p.grupoId is null")
+    int associarGrupoSe(Long id, Long grupoId, StatusProjetoModel statusExigido);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ProjetoModel p set p.grupoId = null, p.versao = p.versao + 1 " +
+            "where p.id = :id and p.grupoId = :grupoIdAtual")
+    int desassociarGrupoSe(Long id, Long grupoIdAtual);
 }
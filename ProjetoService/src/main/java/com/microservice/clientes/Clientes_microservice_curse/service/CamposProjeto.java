@@ -0,0 +1,73 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Campos pedidos em {@code fields=}, validados contra os campos de {@code ProjetoDTO}. Define
+ * quais colunas a consulta precisa ler e se os nomes remotos devem ser resolvidos.
+ */
+final class CamposProjeto {
+
+    static final String NOME_PROFESSOR_CRIADOR = "nomeProfessorCriador";
+    static final String NOME_GRUPO = "nomeGrupo";
+    private static final Set<String> COLUNAS = Set.of("id", "nome", "objetivo", "escopoResumo", "publicoAlvo",
+            "dataInicio", "status", "professorCriadorId", "grupoId");
+    private static final List<String> DISPONIVEIS = List.of("id", "nome", "objetivo", "escopoResumo", "publicoAlvo",
+            "dataInicio", "status", "professorCriadorId", NOME_PROFESSOR_CRIADOR, "grupoId", NOME_GRUPO);
+
+    private final List<String> pedidos;
+
+    private CamposProjeto(List<String> pedidos) {
+        this.pedidos = pedidos;
+    }
+
+    static CamposProjeto de(String fields) {
+        Set<String> pedidos = new LinkedHashSet<>();
+        if (fields != null) {
+            for (String campo : fields.split(",")) {
+                String nome = campo.trim();
+                if (nome.isEmpty()) continue;
+                if (!DISPONIVEIS.contains(nome)) {
+                    throw new IllegalArgumentException("Campo desconhecido: " + nome
+                            + ". Campos disponíveis: " + String.join(",", DISPONIVEIS) + ".");
+                }
+                pedidos.add(nome);
+            }
+        }
+        if (pedidos.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um campo em fields.");
+        }
+        return new CamposProjeto(Collections.unmodifiableList(new ArrayList<>(pedidos)));
+    }
+
+    List<String> pedidos() {
+        return pedidos;
+    }
+
+    boolean precisaNomeProfessor() {
+        return pedidos.contains(NOME_PROFESSOR_CRIADOR);
+    }
+
+    boolean precisaNomeGrupo() {
+        return pedidos.contains(NOME_GRUPO);
+    }
+
+    /**
+     * Colunas lidas do banco: as pedidas, o ID (chave da paginação) e os IDs remotos cujos
+     * nomes foram pedidos.
+     */
+    List<String> colunas() {
+        Set<String> colunas = new LinkedHashSet<>();
+        colunas.add("id");
+        for (String campo : pedidos) {
+            if (COLUNAS.contains(campo)) colunas.add(campo);
+        }
+        if (precisaNomeProfessor()) colunas.add("professorCriadorId");
+        if (precisaNomeGrupo()) colunas.add("grupoId");
+        return new ArrayList<>(colunas);
+    }
+}
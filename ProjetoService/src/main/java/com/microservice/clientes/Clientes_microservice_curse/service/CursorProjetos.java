@@ -0,0 +1,60 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco da paginação por chave. Guarda o último ID entregue; a página seguinte começa
+ * no primeiro ID maior que ele, o que mantém o custo de qualquer página igual ao da primeira.
+ * <p>
+ * A busca textual é ordenada por relevância, que não serve de chave; nela o cursor guarda a
+ * posição do próximo resultado.
+ */
+final class CursorProjetos {
+
+    private static final String PREFIXO = "id:";
+    private static final String PREFIXO_POSICAO = "pos:";
+
+    private CursorProjetos() {
+    }
+
+    static String codificar(Long ultimoId) {
+        return codificar(PREFIXO, ultimoId);
+    }
+
+    static long decodificar(String cursor) {
+        return decodificar(PREFIXO, cursor);
+    }
+
+    static String codificarPosicao(long posicao) {
+        return codificar(PREFIXO_POSICAO, posicao);
+    }
+
+    static long decodificarPosicao(String cursor) {
+        return decodificar(PREFIXO_POSICAO, cursor);
+    }
+
+    private static String codificar(String prefixo, long valor) {
+        byte[] conteudo = (prefixo + valor).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo);
+    }
+
+    private static long decodificar(String prefixo, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!conteudo.startsWith(prefixo)) {
+                throw new IllegalArgumentException("Cursor de paginação inválido.");
+            }
+            long valor = Long.parseLong(conteudo.substring(prefixo.length()));
+            if (valor < 0) {
+                throw new IllegalArgumentException("Cursor de paginação inválido.");
+            }
+            return valor;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido.", e);
+        }
+    }
+}
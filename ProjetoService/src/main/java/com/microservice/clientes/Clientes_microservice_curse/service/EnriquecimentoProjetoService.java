@@ -0,0 +1,182 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import com.microservice.clientes.Clientes_microservice_curse.Clients.GroupServiceClient;
+import com.microservice.clientes.Clientes_microservice_curse.Clients.UserServiceClient;
+import com.microservice.clientes.Clientes_microservice_curse.config.EnriquecimentoProperties;
+import com.microservice.clientes.Clientes_microservice_curse.config.ResilienciaConfig;
+import com.microservice.clientes.Clientes_microservice_curse.dto.GroupDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ProjetoEnriquecivel;
+import com.microservice.clientes.Clientes_microservice_curse.dto.UserDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Preenche os nomes de professor e grupo dos projetos. Os IDs distintos de um conjunto de
+ * resultados são resolvidos uma única vez, de modo que o custo depende da quantidade de
+ * professores e grupos distintos, e não da quantidade de projetos. Nomes já conhecidos são
+ * servidos pelo cache local de cada {@link ResolvedorNomes}.
+ * <p>
+ * As consultas de professores e grupos rodam em paralelo num pool próprio. O contexto de
+ * segurança da requisição é copiado para as threads do pool, pois o
+ * {@code FeignClientInterceptor} depende dele para repassar o token JWT. O tempo total de
+ * espera é limitado por {@code enriquecimento.prazo}; o que não chegar a tempo recebe o nome
+ * de indisponibilidade.
+ */
+@Service
+public class EnriquecimentoProjetoService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EnriquecimentoProjetoService.class);
+
+    static final String PROFESSOR_INDISPONIVEL = "Professor não encontrado/serviço indisponível";
+    static final String GRUPO_INDISPONIVEL = "Grupo não encontrado/serviço indisponível";
+    /** Atributo de requisição presente quando algum nome ficou indisponível por falha do serviço. */
+    public static final String ATRIBUTO_NOMES_INDISPONIVEIS = EnriquecimentoProjetoService.class.getName() + ".NOMES_INDISPONIVEIS";
+
+    private final ThreadPoolTaskExecutor pool;
+    private final Executor executor;
+    private final Duration prazo;
+    private final ResolvedorNomes professores;
+    private final ResolvedorNomes grupos;
+    private final DistributionSummary linhasEnriquecidas;
+
+    @Autowired
+    public EnriquecimentoProjetoService(@Lazy UserServiceClient userServiceClient,
+                                        @Lazy GroupServiceClient groupServiceClient,
+                                        EnriquecimentoProperties propriedades,
+                                        CircuitBreakerFactory<?, ?> circuitBreakerFactory,
+                                        MeterRegistry meterRegistry) {
+        this.pool = new ThreadPoolTaskExecutor();
+        this.pool.setCorePoolSize(propriedades.getThreads());
+        this.pool.setMaxPoolSize(propriedades.getThreads());
+        // Fila limitada: cheia, o lote é recusado (AbortPolicy) e seus IDs ficam indisponíveis,
+        // em vez de rodar na thread da requisição fora do prazo do enriquecimento.
+        this.pool.setQueueCapacity(propriedades.getCapacidadeFila());
+        this.pool.setThreadNamePrefix("enriquecimento-");
+        this.pool.setDaemon(true);
+        this.pool.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        this.pool.initialize();
+        this.executor = new DelegatingSecurityContextExecutor(pool);
+        this.prazo = propriedades.getPrazo();
+
+        this.professores = new ResolvedorNomes("user-service", "getUsuariosByIds",
+                ids -> nomesDeUsuarios(userServiceClient.getUsuariosByIds(ids)),
+                circuitBreakerFactory.create(ResilienciaConfig.DISJUNTOR_USER_SERVICE),
+                propriedades, PROFESSOR_INDISPONIVEL, executor, meterRegistry);
+        this.grupos = new ResolvedorNomes("group-service", "getGruposByIds",
+                ids -> nomesDeGrupos(groupServiceClient.getGruposByIds(ids)),
+                circuitBreakerFactory.create(ResilienciaConfig.DISJUNTOR_GROUP_SERVICE),
+                propriedades, GRUPO_INDISPONIVEL, executor, meterRegistry);
+        this.linhasEnriquecidas = DistributionSummary.builder("projetos.enriquecimento.linhas")
+                .description("Projetos enriquecidos por chamada")
+                .baseUnit("projetos")
+                .register(meterRegistry);
+    }
+
+    public void enriquecer(List<? extends ProjetoEnriquecivel> projetos) {
+        if (projetos.isEmpty()) return;
+        linhasEnriquecidas.record(projetos.size());
+
+        Set<Long> professorIds = new HashSet<>();
+        Set<Long> grupoIds = new HashSet<>();
+        for (ProjetoEnriquecivel projeto : projetos) {
+            if (projeto.getProfessorCriadorId() != null) professorIds.add(projeto.getProfessorCriadorId());
+            if (projeto.getGrupoId() != null) grupoIds.add(projeto.getGrupoId());
+        }
+
+        long limite = System.nanoTime() + prazo.toNanos();
+        ResolvedorNomes.Consulta consultaProfessores = professores.resolver(professorIds, executor);
+        ResolvedorNomes.Consulta consultaGrupos = grupos.resolver(grupoIds, executor);
+        ResolvedorNomes.NomesResolvidos resolvidosProfessores = aguardar(consultaProfessores, limite, professorIds);
+        ResolvedorNomes.NomesResolvidos resolvidosGrupos = aguardar(consultaGrupos, limite, grupoIds);
+        if (resolvidosProfessores.incompletos() || resolvidosGrupos.incompletos()) {
+            marcarNomesIndisponiveis();
+        }
+        Map<Long, String> nomesProfessores = resolvidosProfessores.nomes();
+        Map<Long, String> nomesGrupos = resolvidosGrupos.nomes();
+
+        for (ProjetoEnriquecivel projeto : projetos) {
+            if (projeto.getProfessorCriadorId() != null) {
+                projeto.setNomeProfessorCriador(nomesProfessores.get(projeto.getProfessorCriadorId()));
+            }
+            if (projeto.getGrupoId() != null) {
+                projeto.setNomeGrupo(nomesGrupos.get(projeto.getGrupoId()));
+            }
+        }
+    }
+
+    /**
+     * Marca a requisição corrente como servida com nomes de indisponibilidade por falha do
+     * serviço remoto, para que a resposta não leve um ETag que os congele no cliente.
+     */
+    private static void marcarNomesIndisponiveis() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos != null) {
+            atributos.setAttribute(ATRIBUTO_NOMES_INDISPONIVEIS, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+
+    /**
+     * Espera a consulta até o prazo. Esgotado o prazo, fica com os nomes que já chegaram (cache
+     * e lotes concluídos) e só os IDs pendentes recebem o nome de indisponibilidade.
+     */
+    private static ResolvedorNomes.NomesResolvidos aguardar(ResolvedorNomes.Consulta consulta, long limite, Set<Long> ids) {
+        try {
+            return consulta.getConcluida().get(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Prazo de enriquecimento esgotado ao resolver {} IDs.", ids.size());
+        } catch (ExecutionException e) {
+            log.error("Falha inesperada no enriquecimento: {}", e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return consulta.parcial();
+    }
+
+    private static Map<Long, String> nomesDeUsuarios(List<UserDTO> usuarios) {
+        Map<Long, String> nomes = new HashMap<>();
+        if (usuarios != null) {
+            for (UserDTO usuario : usuarios) {
+                if (usuario != null && usuario.getId() != null) nomes.put(usuario.getId(), usuario.getNome());
+            }
+        }
+        return nomes;
+    }
+
+    private static Map<Long, String> nomesDeGrupos(List<GroupDTO> grupos) {
+        Map<Long, String> nomes = new HashMap<>();
+        if (grupos != null) {
+            for (GroupDTO grupo : grupos) {
+                if (grupo != null && grupo.getId() != null) nomes.put(grupo.getId(), grupo.getNome());
+            }
+        }
+        return nomes;
+    }
+}
@@ -0,0 +1,261 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import com.microservice.clientes.Clientes_microservice_curse.dto.ContagemProjetosDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.EstatisticasProjetosDTO;
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.event.CacheProjetosInvalidadoEvent;
+import com.microservice.clientes.Clientes_microservice_curse.event.ProjetoAlteradoEvent;
+import com.microservice.clientes.Clientes_microservice_curse.repository.ProjetoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Contagem de projetos por status e por professor mantida em memória. Os contadores são
+ * montados com um GROUP BY na subida da aplicação e, a partir daí, ajustados pelos
+ * {@link ProjetoAlteradoEvent} depois do commit de cada transação, de modo que a leitura nunca
+ * consulta a tabela.
+ * <p>
+ * Os contadores são de cada instância: só os eventos desta JVM chegam aqui. Alterações feitas
+ * fora da aplicação ou por outras instâncias deixam os contadores fora do real até a
+ * reconciliação periódica, que refaz o GROUP BY e substitui os contadores. Os eventos que
+ * chegam enquanto o GROUP BY roda são reaplicados sobre o resultado novo. Um evento cujo
+ * commit entrou na contagem mas que só chegou depois dela ainda é contado duas vezes, até a
+ * reconciliação seguinte.
+ * <p>
+ * Com uma única instância, diferença na reconciliação é erro de contabilidade e vai para
+ * {@code projetos.estatisticas.divergencias}. Com {@code estatisticas.instancias-multiplas}
+ * ligado, a diferença é esperada e a métrica não é incrementada; além disso, o aviso de
+ * invalidação de cache vindo de outra instância marca os contadores como desatualizados, e a
+ * leitura seguinte refaz o GROUP BY, no máximo uma vez a cada {@code estatisticas.validade}.
+ * Assim as escritas das outras instâncias aparecem em segundos, e não só na reconciliação.
+ */
+@Service
+public class EstatisticasProjetoService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstatisticasProjetoService.class);
+    private static final StatusProjetoModel[] STATUS = StatusProjetoModel.values();
+
+    private final ProjetoRepository projetoRepository;
+    private final Counter divergencias;
+    private final boolean instanciasMultiplas;
+    private final long validadeNanos;
+    private final ReentrantLock recontagem = new ReentrantLock();
+    private final AtomicBoolean desatualizados = new AtomicBoolean();
+    private volatile long contadosEmNanos;
+    private volatile Contadores contadores = new Contadores();
+    // Eventos recebidos durante a recontagem; guardado por this.
+    private Contadores emRecontagem;
+
+    @Autowired
+    public EstatisticasProjetoService(ProjetoRepository projetoRepository, MeterRegistry meterRegistry,
+                                      @Value("${estatisticas.instancias-multiplas:false}") boolean instanciasMultiplas,
+                                      @Value("${estatisticas.validade:PT2S}") Duration validade) {
+        this.projetoRepository = projetoRepository;
+        this.divergencias = meterRegistry.counter("projetos.estatisticas.divergencias");
+        this.instanciasMultiplas = instanciasMultiplas;
+        this.validadeNanos = validade.toNanos();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        contadosEmNanos = System.nanoTime();
+        contadores = contar();
+        log.info("Estatísticas de projetos carregadas: {} projetos.", contadores.total());
+    }
+
+    @Scheduled(initialDelayString = "${estatisticas.reconciliacao:PT5M}", fixedDelayString = "${estatisticas.reconciliacao:PT5M}")
+    public void reconciliar() {
+        recontagem.lock();
+        try {
+            recontar();
+        } finally {
+            recontagem.unlock();
+        }
+    }
+
+    @EventListener
+    public void aoInvalidarCache(CacheProjetosInvalidadoEvent evento) {
+        if (instanciasMultiplas && evento.isRemota()) {
+            desatualizados.set(true);
+        }
+    }
+
+    private void recontar() {
+        contadosEmNanos = System.nanoTime();
+        desatualizados.set(false);
+        synchronized (this) {
+            emRecontagem = new Contadores();
+        }
+        Contadores recontados;
+        try {
+            recontados = contar();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                emRecontagem = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            recontados.somar(emRecontagem);
+            emRecontagem = null;
+            if (!recontados.equals(contadores)) {
+                if (instanciasMultiplas) {
+                    log.debug("Estatísticas de projetos recalculadas com alterações de outras instâncias ({} projetos).",
+                            recontados.total());
+                } else {
+                    divergencias.increment();
+                    log.warn("Estatísticas de projetos divergiam do banco e foram recalculadas ({} projetos).",
+                            recontados.total());
+                }
+            }
+            contadores = recontados;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void aoAlterarProjeto(ProjetoAlteradoEvent evento) {
+        aplicar(contadores, evento);
+        if (emRecontagem != null) {
+            aplicar(emRecontagem, evento);
+        }
+    }
+
+    /**
+     * Devolve as contagens gerais ou, com {@code professorId}, apenas as daquele professor.
+     */
+    public EstatisticasProjetosDTO obter(Long professorId) {
+        atualizarSeDesatualizados();
+        Contadores atuais = contadores;
+        if (professorId != null) {
+            AtomicLongArray doProfessor = atuais.porProfessor.get(professorId);
+            Map<StatusProjetoModel, Long> porStatus = paraMapa(doProfessor != null ? doProfessor : new AtomicLongArray(STATUS.length));
+            return new EstatisticasProjetosDTO(somar(porStatus), porStatus, Map.of(professorId, porStatus));
+        }
+        Map<StatusProjetoModel, Long> porStatus = paraMapa(atuais.porStatus);
+        Map<Long, Map<StatusProjetoModel, Long>> porProfessor = new HashMap<>();
+        atuais.porProfessor.forEach((id, contagem) -> porProfessor.put(id, paraMapa(contagem)));
+        return new EstatisticasProjetosDTO(somar(porStatus), porStatus, porProfessor);
+    }
+
+    /**
+     * Refaz a contagem quando outra instância alterou projetos e a última contagem já passou da
+     * validade. Só uma leitura reconta por vez; as demais servem os contadores atuais, assim
+     * como quando o banco falha.
+     */
+    private void atualizarSeDesatualizados() {
+        if (!desatualizados.get() || System.nanoTime() - contadosEmNanos < validadeNanos) return;
+        if (!recontagem.tryLock()) return;
+        try {
+            if (desatualizados.get()) {
+                recontar();
+            }
+        } catch (RuntimeException e) {
+            desatualizados.set(true);
+            log.warn("Falha ao recontar estatísticas de projetos; servindo os contadores atuais: {}", e.getMessage());
+        } finally {
+            recontagem.unlock();
+        }
+    }
+
+    private static void aplicar(Contadores alvo, ProjetoAlteradoEvent evento) {
+        if (evento.getStatusAnterior() != null) {
+            alvo.ajustar(evento.getProfessorCriadorId(), evento.getStatusAnterior(), -1);
+        }
+        if (evento.getStatusNovo() != null) {
+            alvo.ajustar(evento.getProfessorCriadorId(), evento.getStatusNovo(), 1);
+        }
+    }
+
+    private Contadores contar() {
+        Contadores novos = new Contadores();
+        for (ContagemProjetosDTO contagem : projetoRepository.contarPorProfessorEStatus()) {
+            novos.ajustar(contagem.getProfessorCriadorId(), contagem.getStatus(), contagem.getTotal());
+        }
+        return novos;
+    }
+
+    private static Map<StatusProjetoModel, Long> paraMapa(AtomicLongArray contagem) {
+        Map<StatusProjetoModel, Long> mapa = new EnumMap<>(StatusProjetoModel.class);
+        for (StatusProjetoModel status : STATUS) {
+            mapa.put(status, contagem.get(status.ordinal()));
+        }
+        return mapa;
+    }
+
+    private static long somar(Map<StatusProjetoModel, Long> porStatus) {
+        return porStatus.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static final class Contadores {
+
+        private final AtomicLongArray porStatus = new AtomicLongArray(STATUS.length);
+        private final ConcurrentHashMap<Long, AtomicLongArray> porProfessor = new ConcurrentHashMap<>();
+
+        void ajustar(Long professorId, StatusProjetoModel status, long delta) {
+            porStatus.addAndGet(status.ordinal(), delta);
+            if (professorId != null) {
+                porProfessor.computeIfAbsent(professorId, id -> new AtomicLongArray(STATUS.length))
+                        .addAndGet(status.ordinal(), delta);
+            }
+        }
+
+        void somar(Contadores outros) {
+            for (int i = 0; i < STATUS.length; i++) {
+                porStatus.addAndGet(i, outros.porStatus.get(i));
+            }
+            outros.porProfessor.forEach((id, contagem) -> {
+                AtomicLongArray doProfessor = porProfessor.computeIfAbsent(id, chave -> new AtomicLongArray(STATUS.length));
+                for (int i = 0; i < STATUS.length; i++) {
+                    doProfessor.addAndGet(i, contagem.get(i));
+                }
+            });
+        }
+
+        long total() {
+            long total = 0;
+            for (int i = 0; i < porStatus.length(); i++) total += porStatus.get(i);
+            return total;
+        }
+
+        @Override
+        public boolean equals(Object outro) {
+            if (!(outro instanceof Contadores)) return false;
+            Contadores outros = (Contadores) outro;
+            return paraMapa(porStatus).equals(paraMapa(outros.porStatus))
+                    && semZeros(this).equals(semZeros(outros));
+        }
+
+        @Override
+        public int hashCode() {
+            return paraMapa(porStatus).hashCode();
+        }
+
+        private static Map<Long, Map<StatusProjetoModel, Long>> semZeros(Contadores contadores) {
+            Map<Long, Map<StatusProjetoModel, Long>> resultado = new HashMap<>();
+            contadores.porProfessor.forEach((id, contagem) -> {
+                Map<StatusProjetoModel, Long> mapa = paraMapa(contagem);
+                if (mapa.values().stream().anyMatch(total -> total != 0)) resultado.put(id, mapa);
+            });
+            return resultado;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import com.microservice.clientes.Clientes_microservice_curse.config.FeedProperties;
+import com.microservice.clientes.Clientes_microservice_curse.dto.EventoFeedProjetoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.event.ProjetoAlteradoEvent;
+import com.microservice.clientes.Clientes_microservice_curse.event.ProjetosAlteradosEmOutraInstanciaEvent;
+import com.microservice.clientes.Clientes_microservice_curse.exception.LimiteAssinaturasException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Feed de alterações de projetos por Server-Sent Events. Cada {@link ProjetoAlteradoEvent}
+ * confirmado recebe um ID sequencial, entra num buffer circular de tamanho fixo e é entregue
+ * às assinaturas cujo filtro aceita o evento. As alterações confirmadas em outras instâncias
+ * chegam pelo canal de invalidação de cache ({@link ProjetosAlteradosEmOutraInstanciaEvent}) e
+ * entram no mesmo buffer. Os IDs são desta instância: um cliente que reconecta em outra recebe
+ * {@code reinicio}.
+ * <p>
+ * Cada assinatura tem uma fila própria, esvaziada por um pool pequeno de threads, de modo que
+ * o commit nunca espera pela rede. Quando a fila de um consumidor lento enche, a conexão é
+ * encerrada; o cliente reconecta com {@code Last-Event-ID} e recebe do buffer o que perdeu.
+ * Se o ID não estiver mais no buffer, ou for de antes de um reinício da aplicação, o cliente
+ * recebe um evento {@code reinicio} e deve recarregar a listagem.
+ * <p>
+ * Um cliente que para de ler trava o {@code send} de quem drena a sua fila. Uma verificação
+ * periódica encerra a assinatura cujo envio passou de {@code feed.timeout-envio} e interrompe a
+ * thread presa, para que ela volte a atender as demais assinaturas.
+ */
+@Service
+public class FeedProjetosService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedProjetosService.class);
+    static final String EVENTO_PROJETO = "projeto";
+    static final String EVENTO_REINICIO = "reinicio";
+    private static final Envio HEARTBEAT = new Envio(null, null, null);
+
+    private final FeedProperties propriedades;
+    private final ThreadPoolTaskExecutor pool;
+    private final Executor executor;
+    private final String epoca = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Object trava = new Object();
+    private final ArrayDeque<Registro> replay;
+    private final Set<Assinatura> assinaturas = ConcurrentHashMap.newKeySet();
+    private final Counter descartadas;
+    private final Counter travadas;
+    private long sequencia;
+
+    @Autowired
+    public FeedProjetosService(FeedProperties propriedades, MeterRegistry meterRegistry) {
+        this(propriedades, meterRegistry, null);
+    }
+
+    FeedProjetosService(FeedProperties propriedades, MeterRegistry meterRegistry, Executor executor) {
+        this.propriedades = propriedades;
+        this.replay = new ArrayDeque<>(propriedades.getTamanhoReplay());
+        if (executor == null) {
+            this.pool = new ThreadPoolTaskExecutor();
+            this.pool.setCorePoolSize(propriedades.getThreads());
+            this.pool.setMaxPoolSize(propriedades.getThreads());
+            this.pool.setThreadNamePrefix("feed-projetos-");
+            this.pool.setDaemon(true);
+            this.pool.initialize();
+            this.executor = pool;
+        } else {
+            this.pool = null;
+            this.executor = executor;
+        }
+        this.descartadas = meterRegistry.counter("projetos.feed.descartadas");
+        this.travadas = meterRegistry.counter("projetos.feed.travadas");
+        meterRegistry.gauge("projetos.feed.assinaturas", assinaturas, Set::size);
+    }
+
+    /**
+     * Abre uma assinatura. {@code status} aceita eventos que entram ou saem daquele status;
+     * {@code ultimoEventoId}, quando informado, faz o buffer ser reenviado a partir dele.
+     */
+    public SseEmitter assinar(StatusProjetoModel status, Long professorId, String ultimoEventoId) {
+        if (assinaturas.size() >= propriedades.getMaximoAssinaturas()) {
+            throw new LimiteAssinaturasException("Limite de " + propriedades.getMaximoAssinaturas()
+                    + " assinaturas do feed atingido.");
+        }
+        SseEmitter emitter = novoEmitter();
+        Assinatura assinatura = new Assinatura(emitter, status, professorId);
+        emitter.onCompletion(() -> assinatura.encerrar());
+        emitter.onTimeout(() -> assinatura.encerrar());
+        emitter.onError(erro -> assinatura.encerrar());
+
+        synchronized (trava) {
+            if (ultimoEventoId != null && !ultimoEventoId.isBlank()) {
+                Long aposSequencia = decodificarSequencia(ultimoEventoId);
+                long primeira = replay.isEmpty() ? sequencia + 1 : replay.peekFirst().sequencia();
+                if (aposSequencia == null || aposSequencia > sequencia || aposSequencia < primeira - 1) {
+                    assinatura.oferecer(new Envio(EVENTO_REINICIO, null, Map.of("motivo",
+                            "Eventos posteriores a " + ultimoEventoId + " não estão mais disponíveis.")), false);
+                } else {
+                    for (Registro registro : replay) {
+                        if (registro.sequencia() > aposSequencia && assinatura.aceita(registro.evento())) {
+                            assinatura.oferecer(envio(registro.evento()), false);
+                        }
+                    }
+                }
+            }
+            assinaturas.add(assinatura);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aoAlterarProjeto(ProjetoAlteradoEvent alteracao) {
+        publicar(alteracao);
+    }
+
+    @EventListener
+    public void aoAlterarEmOutraInstancia(ProjetosAlteradosEmOutraInstanciaEvent evento) {
+        evento.getAlteracoes().forEach(this::publicar);
+    }
+
+    private void publicar(ProjetoAlteradoEvent alteracao) {
+        synchronized (trava) {
+            long atual = ++sequencia;
+            EventoFeedProjetoDTO evento = new EventoFeedProjetoDTO(epoca + "-" + atual, alteracao.getProjetoId(),
+                    alteracao.getProfessorCriadorId(), alteracao.getStatusAnterior(), alteracao.getStatusNovo(),
+                    Instant.now());
+            if (replay.size() == propriedades.getTamanhoReplay()) {
+                replay.pollFirst();
+            }
+            replay.addLast(new Registro(atual, evento));
+            Envio envio = envio(evento);
+            for (Assinatura assinatura : assinaturas) {
+                if (assinatura.aceita(evento) && !assinatura.oferecer(envio, true)) {
+                    descartar(assinatura);
+                }
+            }
+        }
+    }
+
+    /**
+     * Comentário periódico que mantém a conexão aberta em proxies e revela clientes que já
+     * desconectaram.
+     */
+    @Scheduled(fixedDelayString = "${feed.heartbeat:PT15S}")
+    public void enviarHeartbeat() {
+        for (Assinatura assinatura : assinaturas) {
+            if (!assinatura.oferecer(HEARTBEAT, true)) {
+                descartar(assinatura);
+            }
+        }
+    }
+
+    /**
+     * Encerra as assinaturas com um envio em andamento há mais de {@code feed.timeout-envio}.
+     */
+    @Scheduled(fixedDelayString = "${feed.timeout-envio:PT10S}")
+    public void encerrarEnviosTravados() {
+        long limite = System.nanoTime() - propriedades.getTimeoutEnvio().toNanos();
+        for (Assinatura assinatura : assinaturas) {
+            if (assinatura.interromperSeTravada(limite)) {
+                travadas.increment();
+                log.warn("Assinatura do feed de projetos encerrada: envio sem resposta do cliente há mais de {}.",
+                        propriedades.getTimeoutEnvio());
+            }
+        }
+    }
+
+    SseEmitter novoEmitter() {
+        return new SseEmitter(propriedades.getTimeout().toMillis());
+    }
+
+    int getAssinaturasAbertas() {
+        return assinaturas.size();
+    }
+
+    @Override
+    public void destroy() {
+        assinaturas.forEach(assinatura -> assinatura.emitter.complete());
+        if (pool != null) pool.shutdown();
+    }
+
+    private void descartar(Assinatura assinatura) {
+        descartadas.increment();
+        log.warn("Assinatura do feed de projetos encerrada: consumidor não acompanhou {} eventos pendentes.",
+                propriedades.getCapacidadeFila());
+        assinatura.encerrar();
+        assinatura.emitter.complete();
+    }
+
+    private Long decodificarSequencia(String ultimoEventoId) {
+        int separador = ultimoEventoId.lastIndexOf('-');
+        if (separador < 0 || !ultimoEventoId.substring(0, separador).equals(epoca)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(ultimoEventoId.substring(separador + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Envio envio(EventoFeedProjetoDTO evento) {
+        return new Envio(EVENTO_PROJETO, evento.getId(), evento);
+    }
+
+    private record Registro(long sequencia, EventoFeedProjetoDTO evento) {
+    }
+
+    private record Envio(String nome, String id, Object dados) {
+    }
+
+    private final class Assinatura {
+
+        private final SseEmitter emitter;
+        private final StatusProjetoModel status;
+        private final Long professorId;
+        private final ArrayDeque<Envio> fila = new ArrayDeque<>();
+        private boolean agendada;
+        private boolean encerrada;
+        private boolean travada;
+        private Thread remetente;
+        private long enviandoDesde;
+
+        Assinatura(SseEmitter emitter, StatusProjetoModel status, Long professorId) {
+            this.emitter = emitter;
+            this.status = status;
+            this.professorId = professorId;
+        }
+
+        boolean aceita(EventoFeedProjetoDTO evento) {
+            if (professorId != null && !professorId.equals(evento.getProfessorCriadorId())) return false;
+            return status == null || status == evento.getStatusNovo() || status == evento.getStatusAnterior();
+        }
+
+        /**
+         * Enfileira o envio; devolve {@code false} quando a fila está cheia e a capacidade deve
+         * ser respeitada. O reenvio do buffer não respeita a capacidade, já que é limitado pelo
+         * tamanho do próprio buffer.
+         */
+        synchronized boolean oferecer(Envio envio, boolean respeitarCapacidade) {
+            if (encerrada) return true;
+            if (respeitarCapacidade && fila.size() >= propriedades.getCapacidadeFila()) return false;
+            fila.addLast(envio);
+            if (!agendada) {
+                agendada = true;
+                executor.execute(this::drenar);
+            }
+            return true;
+        }
+
+        private void drenar() {
+            while (true) {
+                Envio envio;
+                synchronized (this) {
+                    envio = encerrada ? null : fila.pollFirst();
+                    if (envio == null) {
+                        agendada = false;
+                        break;
+                    }
+                    remetente = Thread.currentThread();
+                    enviandoDesde = System.nanoTime();
+                }
+                try {
+                    if (envio == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        SseEmitter.SseEventBuilder evento = SseEmitter.event().name(envio.nome()).data(envio.dados());
+                        if (envio.id() != null) evento.id(envio.id());
+                        emitter.send(evento);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Assinatura do feed de projetos encerrada pelo cliente: {}", e.getMessage());
+                    encerrar();
+                } finally {
+                    synchronized (this) {
+                        remetente = null;
+                    }
+                    // Uma interrupção pedida durante o envio não pode vazar para a próxima tarefa do pool.
+                    Thread.interrupted();
+                }
+            }
+            boolean completar;
+            synchronized (this) {
+                completar = travada;
+            }
+            // Só aqui, depois do send: o SseEmitter serializa send e complete no mesmo monitor.
+            if (completar) emitter.complete();
+        }
+
+        /**
+         * Encerra a assinatura e interrompe quem envia se o envio atual começou antes de
+         * {@code limite}; devolve se encerrou.
+         */
+        synchronized boolean interromperSeTravada(long limite) {
+            if (encerrada || remetente == null || enviandoDesde - limite > 0) return false;
+            travada = true;
+            encerrar();
+            remetente.interrupt();
+            return true;
+        }
+
+        synchronized void encerrar() {
+            encerrada = true;
+            fila.clear();
+            assinaturas.remove(this);
+        }
+    }
+}
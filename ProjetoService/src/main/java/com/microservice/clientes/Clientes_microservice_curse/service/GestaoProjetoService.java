@@ -1,44 +1,119 @@
 package com.microservice.clientes.Clientes_microservice_curse.service;
 
-import com.microservice.clientes.Clientes_microservice_curse.Clients.GroupServiceClient;
-import com.microservice.clientes.Clientes_microservice_curse.Clients.UserServiceClient;
-import com.microservice.clientes.Clientes_microservice_curse.dto.GroupDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.AlteracaoStatusLoteDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.PaginaDTO;
 import com.microservice.clientes.Clientes_microservice_curse.dto.ProjetoDTO;
-import com.microservice.clientes.Clientes_microservice_curse.dto.UserDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ProjetoEnriquecivel;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ProjetoParcialDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ProjetoResumoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ResultadoAlteracaoStatusDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.VersaoListagemDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.VersaoProjetoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.enums.ResultadoAlteracaoStatus;
 import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.enums.TipoEventoProjeto;
+import com.microservice.clientes.Clientes_microservice_curse.event.DadosProjetoAlteradosEvent;
+import com.microservice.clientes.Clientes_microservice_curse.event.ProjetoAlteradoEvent;
+import com.microservice.clientes.Clientes_microservice_curse.exception.BuscaTextualIndisponivelException;
+import com.microservice.clientes.Clientes_microservice_curse.exception.ConflitoEstadoProjetoException;
 import com.microservice.clientes.Clientes_microservice_curse.exception.ProjetoNaoEncontradoException;
 import com.microservice.clientes.Clientes_microservice_curse.model.ProjetoModel;
 import com.microservice.clientes.Clientes_microservice_curse.repository.ProjetoRepository;
-import feign.FeignException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "projetos.servico", histogram = true)
 public class GestaoProjetoService {
 
     private static final Logger log = LoggerFactory.getLogger(GestaoProjetoService.class);
+    public static final int LIMITE_PAGINA_PADRAO = 50;
+    public static final int LIMITE_PAGINA_MAXIMO = 500;
+    private static final int TAMANHO_LOTE_EXPORTACAO = 200;
+    private static final int TAMANHO_MAXIMO_TERMO_BUSCA = 200;
+    static final int POSICAO_MAXIMA_BUSCA = 1000;
+    private static final byte[] FIM_DE_LINHA = {'\n'};
     private final ProjetoRepository projetoRepository;
-    private final UserServiceClient userServiceClient;
-    private final GroupServiceClient groupServiceClient;
+    private final EnriquecimentoProjetoService enriquecimentoProjetoService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxEventosProjetoService outboxEventosProjetoService;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public GestaoProjetoService(ProjetoRepository projetoRepository,
-                                UserServiceClient userServiceClient,
-                                GroupServiceClient groupServiceClient) {
+                                EnriquecimentoProjetoService enriquecimentoProjetoService,
+                                EntityManager entityManager,
+                                ObjectMapper objectMapper,
+                                ApplicationEventPublisher eventPublisher,
+                                OutboxEventosProjetoService outboxEventosProjetoService,
+                                PlatformTransactionManager transactionManager) {
         this.projetoRepository = projetoRepository;
-        this.userServiceClient = userServiceClient;
-        this.groupServiceClient = groupServiceClient;
+        this.enriquecimentoProjetoService = enriquecimentoProjetoService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.outboxEventosProjetoService = outboxEventosProjetoService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    private ProjetoDTO toDTO(ProjetoModel projeto) {
+    ProjetoDTO toDTO(ProjetoModel projeto) {
         if (projeto == null) return null;
+        ProjetoDTO dto = mapearParaDTO(projeto);
+        enriquecimentoProjetoService.enriquecer(List.of(dto));
+        return dto;
+    }
+
+    List<ProjetoDTO> toDTOs(List<ProjetoModel> projetos) {
+        List<ProjetoDTO> dtos = projetos.stream().map(this::mapearParaDTO).collect(Collectors.toList());
+        enriquecimentoProjetoService.enriquecer(dtos);
+        return dtos;
+    }
+
+    private <T extends ProjetoEnriquecivel> List<T> enriquecidos(List<T> projetos) {
+        enriquecimentoProjetoService.enriquecer(projetos);
+        return projetos;
+    }
+
+    private <T extends ProjetoEnriquecivel> Optional<T> enriquecido(Optional<T> projeto) {
+        projeto.ifPresent(p -> enriquecimentoProjetoService.enriquecer(List.of(p)));
+        return projeto;
+    }
+
+    private ProjetoDTO mapearParaDTO(ProjetoModel projeto) {
         ProjetoDTO dto = new ProjetoDTO();
         dto.setId(projeto.getId());
         dto.setNome(projeto.getNome());
@@ -49,32 +124,10 @@ public class GestaoProjetoService {
         dto.setStatus(projeto.getStatus());
         dto.setProfessorCriadorId(projeto.getProfessorCriadorId());
         dto.setGrupoId(projeto.getGrupoId());
-        if (projeto.getProfessorCriadorId() != null) {
-            try {
-                UserDTO user = userServiceClient.getUsuarioById(projeto.getProfessorCriadorId());
-                if (user != null) {
-                    dto.setNomeProfessorCriador(user.getNome());
-                }
-            } catch (FeignException e) {
-                log.error("Falha ao buscar nome do professor ID {}: {}", projeto.getProfessorCriadorId(), e.getMessage());
-                dto.setNomeProfessorCriador("Professor não encontrado/serviço indisponível");
-            }
-        }
-        if (projeto.getGrupoId() != null) {
-            try {
-                GroupDTO group = groupServiceClient.getGrupoById(projeto.getGrupoId());
-                if (group != null) {
-                    dto.setNomeGrupo(group.getNome());
-                }
-            } catch (FeignException e) {
-                log.error("Falha ao buscar nome do grupo ID {}: {}", projeto.getGrupoId(), e.getMessage());
-                dto.setNomeGrupo("Grupo não encontrado/serviço indisponível");
-            }
-        }
         return dto;
     }
 
-    private ProjetoModel toModel(ProjetoDTO dto) {
+    ProjetoModel toModel(ProjetoDTO dto) {
         if (dto == null) return null;
         ProjetoModel model = new ProjetoModel();
         model.setNome(dto.getNome());
@@ -100,75 +153,439 @@ public class GestaoProjetoService {
 
         ProjetoModel projetoSalvo = projetoRepository.save(novoProjeto);
         log.info("Projeto solicitado: {} pelo professor ID: {}", projetoSalvo.getNome(), professorIdRequisitante);
+        eventPublisher.publishEvent(ProjetoAlteradoEvent.criado(projetoSalvo.getId(), professorIdRequisitante, projetoSalvo.getStatus()));
         return toDTO(projetoSalvo);
     }
 
     @Transactional(readOnly = true)
     public List<ProjetoDTO> listarTodos() {
-        return projetoRepository.findAll().stream().map(this::toDTO).collect(Collectors.toList());
+        return enriquecidos(projetoRepository.findProjetadosByOrderByIdAsc(ProjetoDTO.class));
     }
 
+    /**
+     * Lê a entidade pela chave para aproveitar o cache de segundo nível; numa transação
+     * somente leitura ela não entra na verificação de alterações do flush.
+     */
     @Transactional(readOnly = true)
     public Optional<ProjetoDTO> buscarPorId(Long id) {
-        return projetoRepository.findById(id).map(this::toDTO);
+        return enriquecido(projetoRepository.findById(id).map(this::mapearParaDTO));
     }
 
     @Transactional(readOnly = true)
     public Optional<ProjetoDTO> buscarPorNome(String nome) {
-        return projetoRepository.findByNome(nome).map(this::toDTO);
+        return enriquecido(projetoRepository.findProjetadoByNome(nome, ProjetoDTO.class));
     }
 
     @Transactional(readOnly = true)
     public List<ProjetoDTO> buscarPorStatus(StatusProjetoModel status) {
-        return projetoRepository.findByStatus(status).stream().map(this::toDTO).collect(Collectors.toList());
+        return enriquecidos(projetoRepository.findByStatus(status, ProjetoDTO.class));
     }
 
     @Transactional(readOnly = true)
     public List<ProjetoDTO> buscarPorProfessorEStatus(Long professorId, StatusProjetoModel status) {
-        return projetoRepository.findByProfessorCriadorIdAndStatus(professorId, status)
-                .stream().map(this::toDTO).collect(Collectors.toList());
+        return enriquecidos(projetoRepository.findByProfessorCriadorIdAndStatus(professorId, status, ProjetoDTO.class));
     }
 
-    private ProjetoModel mudarStatusProjeto(Long projetoId, StatusProjetoModel novoStatus, String acaoOriginadora) {
-        ProjetoModel projeto = projetoRepository.findById(projetoId)
-                .orElseThrow(() -> new ProjetoNaoEncontradoException("Projeto não encontrado com ID: " + projetoId));
+    @Transactional(readOnly = true)
+    public List<ProjetoDTO> buscarPorProfessor(Long professorId) {
+        return enriquecidos(projetoRepository.findByProfessorCriadorId(professorId, ProjetoDTO.class));
+    }
 
-        log.info("Tentando mudar status do projeto ID {} de {} para {} (Ação: {})",
-                projetoId, projeto.getStatus(), novoStatus, acaoOriginadora);
+    /**
+     * Versão atual do projeto, sem enriquecer, para responder requisições condicionais. Vem do
+     * cache de segundo nível quando a entidade já está nele.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> buscarVersao(Long id) {
+        return projetoRepository.findById(id).map(ProjetoModel::getVersao);
+    }
+
+    /**
+     * Versão do conjunto de projetos que {@code listar-projetos} devolveria com estes filtros.
+     */
+    @Transactional(readOnly = true)
+    public VersaoListagemDTO buscarVersaoListagem(StatusProjetoModel status, Long professorId) {
+        if (professorId != null && status != null) {
+            return projetoRepository.versaoPorProfessorEStatus(professorId, status);
+        } else if (professorId != null) {
+            return projetoRepository.versaoPorProfessor(professorId);
+        } else if (status != null) {
+            return projetoRepository.versaoPorStatus(status);
+        }
+        return projetoRepository.versaoDeTodos();
+    }
+
+    /**
+     * Versão da página que {@code listar-projetos} devolveria com este cursor e limite, a partir
+     * dos IDs e versões das mesmas linhas que a página lê (inclusive a que decide se há próxima).
+     * Cursor ou limite inválidos são recusados aqui, antes de qualquer comparação de ETag.
+     */
+    @Transactional(readOnly = true)
+    public VersaoListagemDTO buscarVersaoPagina(StatusProjetoModel status, Long professorId, String cursor, int limite) {
+        if (limite < 1 || limite > LIMITE_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_PAGINA_MAXIMO + ".");
+        }
+        long aposId = CursorProjetos.decodificar(cursor);
+        long somaVersoes = 0;
+        long somaIds = 0;
+        List<VersaoProjetoDTO> linhas = buscarAposId(status, professorId, aposId, limite + 1, VersaoProjetoDTO.class);
+        for (VersaoProjetoDTO linha : linhas) {
+            somaVersoes += linha.getVersao() != null ? linha.getVersao() : 0L;
+            somaIds += linha.getId();
+        }
+        return new VersaoListagemDTO(linhas.size(), somaVersoes, somaIds);
+    }
+
+    /**
+     * Lista resumos de projetos, sem as colunas de texto longo, com os mesmos filtros de
+     * {@code listar-projetos}.
+     */
+    @Transactional(readOnly = true)
+    public List<ProjetoResumoDTO> listarResumos(StatusProjetoModel status, Long professorId) {
+        List<ProjetoResumoDTO> resumos;
+        if (professorId != null && status != null) {
+            resumos = projetoRepository.findByProfessorCriadorIdAndStatus(professorId, status, ProjetoResumoDTO.class);
+        } else if (professorId != null) {
+            resumos = projetoRepository.findByProfessorCriadorId(professorId, ProjetoResumoDTO.class);
+        } else if (status != null) {
+            resumos = projetoRepository.findByStatus(status, ProjetoResumoDTO.class);
+        } else {
+            resumos = projetoRepository.findProjetadosByOrderByIdAsc(ProjetoResumoDTO.class);
+        }
+        return enriquecidos(resumos);
+    }
+
+    @Transactional(readOnly = true)
+    public <T extends ProjetoEnriquecivel> PaginaDTO<T> listarPagina(StatusProjetoModel status, Long professorId,
+                                                                     String cursor, int limite, Class<T> tipo) {
+        if (limite < 1 || limite > LIMITE_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_PAGINA_MAXIMO + ".");
+        }
+        long aposId = CursorProjetos.decodificar(cursor);
+        List<T> projetos = buscarAposId(status, professorId, aposId, limite + 1, tipo);
+
+        String proximoCursor = null;
+        if (projetos.size() > limite) {
+            projetos = projetos.subList(0, limite);
+            proximoCursor = CursorProjetos.codificar(projetos.get(limite - 1).getId());
+        }
+        return new PaginaDTO<>(enriquecidos(projetos), proximoCursor);
+    }
+
+    private <T> List<T> buscarAposId(StatusProjetoModel status, Long professorId, long aposId, int quantidade, Class<T> tipo) {
+        Limit limite = Limit.of(quantidade);
+        if (professorId != null && status != null) {
+            return projetoRepository.findByProfessorCriadorIdAndStatusAndIdGreaterThanOrderByIdAsc(professorId, status, aposId, limite, tipo);
+        } else if (professorId != null) {
+            return projetoRepository.findByProfessorCriadorIdAndIdGreaterThanOrderByIdAsc(professorId, aposId, limite, tipo);
+        } else if (status != null) {
+            return projetoRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, aposId, limite, tipo);
+        }
+        return projetoRepository.findByIdGreaterThanOrderByIdAsc(aposId, limite, tipo);
+    }
+
+    /**
+     * Busca textual ranqueada sobre nome, objetivo, público-alvo e escopo, apoiada no índice
+     * GIN mantido pelo PostgreSQL. A consulta aceita a sintaxe de busca web (aspas para frases,
+     * {@code -} para excluir termos). Os IDs vêm ordenados por relevância e os resumos são lidos
+     * numa segunda consulta pela chave primária.
+     * <p>
+     * Todas as ocorrências do termo são ranqueadas, mas a paginação vai só até os
+     * {@value #POSICAO_MAXIMA_BUSCA} resultados mais relevantes: o custo do {@code offset} cresce
+     * com a posição, e além disso o termo deve ser refinado. Fora do PostgreSQL a busca não
+     * existe e a chamada falha com {@link BuscaTextualIndisponivelException}.
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<ProjetoResumoDTO> buscarPorTexto(String termo, StatusProjetoModel status, String cursor, int limite) {
+        if (termo == null || termo.isBlank() || termo.length() > TAMANHO_MAXIMO_TERMO_BUSCA) {
+            throw new IllegalArgumentException("Termo de busca deve ter entre 1 e " + TAMANHO_MAXIMO_TERMO_BUSCA + " caracteres.");
+        }
+        if (limite < 1 || limite > LIMITE_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_PAGINA_MAXIMO + ".");
+        }
+        long posicao = CursorProjetos.decodificarPosicao(cursor);
+        if (posicao >= POSICAO_MAXIMA_BUSCA) {
+            throw new IllegalArgumentException("A busca textual só pagina até os " + POSICAO_MAXIMA_BUSCA
+                    + " resultados mais relevantes; refine o termo.");
+        }
+        int tamanho = (int) Math.min(limite, POSICAO_MAXIMA_BUSCA - posicao);
+
+        List<Long> ids;
+        try {
+            ids = status != null
+                    ? projetoRepository.buscarIdsPorTextoEStatus(termo, status.name(), tamanho + 1, posicao)
+                    : projetoRepository.buscarIdsPorTexto(termo, tamanho + 1, posicao);
+        } catch (InvalidDataAccessResourceUsageException e) {
+            throw new BuscaTextualIndisponivelException("Busca textual disponível apenas com PostgreSQL.", e);
+        }
+        String proximoCursor = null;
+        if (ids.size() > tamanho) {
+            ids = ids.subList(0, tamanho);
+            if (posicao + tamanho < POSICAO_MAXIMA_BUSCA) {
+                proximoCursor = CursorProjetos.codificarPosicao(posicao + tamanho);
+            }
+        }
+
+        Map<Long, ProjetoResumoDTO> porId = new HashMap<>();
+        for (ProjetoResumoDTO resumo : projetoRepository.findByIdIn(ids, ProjetoResumoDTO.class)) {
+            porId.put(resumo.getId(), resumo);
+        }
+        List<ProjetoResumoDTO> resultados = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ProjetoResumoDTO resumo = porId.get(id);
+            if (resumo != null) resultados.add(resumo);
+        }
+        return new PaginaDTO<>(enriquecidos(resultados), proximoCursor);
+    }
+
+    /**
+     * Lista apenas os campos pedidos em {@code fields}, com os filtros de {@code listar-projetos}.
+     * Só as colunas necessárias são lidas, e os nomes remotos só são resolvidos quando pedidos.
+     */
+    @Transactional(readOnly = true)
+    public List<ProjetoParcialDTO> listarCampos(String fields, StatusProjetoModel status, Long professorId) {
+        return consultarCampos(CamposProjeto.de(fields), (cb, p) -> filtros(cb, p, status, professorId), null);
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaDTO<ProjetoParcialDTO> listarPaginaCampos(String fields, StatusProjetoModel status, Long professorId,
+                                                           String cursor, int limite) {
+        CamposProjeto campos = CamposProjeto.de(fields);
+        if (limite < 1 || limite > LIMITE_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_PAGINA_MAXIMO + ".");
+        }
+        long aposId = CursorProjetos.decodificar(cursor);
+        List<ProjetoParcialDTO> projetos = consultarCampos(campos, (cb, p) -> {
+            List<Predicate> predicados = filtros(cb, p, status, professorId);
+            predicados.add(cb.greaterThan(p.get("id"), aposId));
+            return predicados;
+        }, limite + 1);
+
+        String proximoCursor = null;
+        if (projetos.size() > limite) {
+            projetos = projetos.subList(0, limite);
+            proximoCursor = CursorProjetos.codificar(projetos.get(limite - 1).getId());
+        }
+        return new PaginaDTO<>(projetos, proximoCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ProjetoParcialDTO> buscarCamposPorId(String fields, Long id) {
+        return consultarCampos(CamposProjeto.de(fields), (cb, p) -> List.of(cb.equal(p.get("id"), id)), 1)
+                .stream().findFirst();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ProjetoParcialDTO> buscarCamposPorNome(String fields, String nome) {
+        return consultarCampos(CamposProjeto.de(fields), (cb, p) -> List.of(cb.equal(p.get("nome"), nome)), 1)
+                .stream().findFirst();
+    }
 
+    private List<Predicate> filtros(CriteriaBuilder cb, Root<ProjetoModel> p, StatusProjetoModel status, Long professorId) {
+        List<Predicate> predicados = new ArrayList<>(3);
+        if (status != null) predicados.add(cb.equal(p.get("status"), status));
+        if (professorId != null) predicados.add(cb.equal(p.get("professorCriadorId"), professorId));
+        return predicados;
+    }
+
+    private List<ProjetoParcialDTO> consultarCampos(CamposProjeto campos,
+                                                    BiFunction<CriteriaBuilder, Root<ProjetoModel>, List<Predicate>> filtro,
+                                                    Integer limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> consulta = cb.createTupleQuery();
+        Root<ProjetoModel> projeto = consulta.from(ProjetoModel.class);
+        List<String> colunas = campos.colunas();
+        List<Selection<?>> selecoes = new ArrayList<>(colunas.size());
+        for (String coluna : colunas) {
+            selecoes.add(projeto.get(coluna).alias(coluna));
+        }
+        consulta.multiselect(selecoes)
+                .where(filtro.apply(cb, projeto).toArray(new Predicate[0]))
+                .orderBy(cb.asc(projeto.get("id")));
+        TypedQuery<Tuple> query = entityManager.createQuery(consulta);
+        if (limite != null) query.setMaxResults(limite);
+
+        List<ProjetoParcialDTO> projetos = new ArrayList<>();
+        for (Tuple linha : query.getResultList()) {
+            Map<String, Object> valores = new LinkedHashMap<>();
+            for (String campo : campos.pedidos()) {
+                valores.put(campo, colunas.contains(campo) ? linha.get(campo) : null);
+            }
+            projetos.add(new ProjetoParcialDTO(
+                    linha.get("id", Long.class),
+                    campos.precisaNomeProfessor() ? linha.get("professorCriadorId", Long.class) : null,
+                    campos.precisaNomeGrupo() ? linha.get("grupoId", Long.class) : null,
+                    valores));
+        }
+        if (campos.precisaNomeProfessor() || campos.precisaNomeGrupo()) {
+            enriquecimentoProjetoService.enriquecer(projetos);
+        }
+        return projetos;
+    }
 
-        projeto.setStatus(novoStatus);
-        ProjetoModel projetoAtualizado = projetoRepository.save(projeto);
+    /**
+     * Escreve todos os projetos em JSON delimitado por linhas. Os projetos são lidos em páginas
+     * por chave, cada uma numa consulta curta; o enriquecimento e a escrita acontecem fora de
+     * transação, então nenhuma conexão fica presa enquanto o cliente ou os serviços remotos
+     * demoram. A memória usada depende só do tamanho da página.
+     */
+    public long exportarNdjson(OutputStream saida) throws IOException {
+        long total = 0;
+        long aposId = 0;
+        List<ProjetoDTO> lote;
+        do {
+            lote = projetoRepository.findByIdGreaterThanOrderByIdAsc(aposId, Limit.of(TAMANHO_LOTE_EXPORTACAO), ProjetoDTO.class);
+            if (!lote.isEmpty()) aposId = lote.get(lote.size() - 1).getId();
+            total += escreverLote(lote, saida);
+        } while (lote.size() == TAMANHO_LOTE_EXPORTACAO);
+        log.info("Exportação concluída: {} projetos.", total);
+        return total;
+    }
 
-        if (novoStatus == StatusProjetoModel.FINALIZADO && projetoAtualizado.getGrupoId() != null) {
-            log.info("Projeto ID {} finalizado. Notificar group-service para liberar grupo ID {}.",
-                    projetoId, projetoAtualizado.getGrupoId());
+    private int escreverLote(List<ProjetoDTO> lote, OutputStream saida) throws IOException {
+        if (lote.isEmpty()) return 0;
+        enriquecimentoProjetoService.enriquecer(lote);
+        for (ProjetoDTO dto : lote) {
+            saida.write(objectMapper.writeValueAsBytes(dto));
+            saida.write(FIM_DE_LINHA);
         }
-        return projetoAtualizado;
+        saida.flush();
+        return lote.size();
+    }
+
+    /**
+     * Muda o status com um único UPDATE condicionado ao status de origem. Quando nenhuma linha
+     * é afetada, o projeto é relido apenas para distinguir "não encontrado" de "o estado não é
+     * mais o esperado".
+     */
+    private void mudarStatusProjeto(Long projetoId, StatusProjetoModel statusOrigem, StatusProjetoModel novoStatus,
+                                    String acaoOriginadora) {
+        log.info("Tentando mudar status do projeto ID {} de {} para {} (Ação: {})",
+                projetoId, statusOrigem, novoStatus, acaoOriginadora);
+        if (projetoRepository.atualizarStatusSe(projetoId, statusOrigem, novoStatus) == 0) {
+            ProjetoResumoDTO atual = buscarParaConflito(projetoId);
+            throw new ConflitoEstadoProjetoException("Projeto precisa estar " + statusOrigem
+                    + " para passar a " + novoStatus + ". Status atual: " + atual.getStatus());
+        }
+    }
+
+    private ProjetoResumoDTO buscarParaConflito(Long projetoId) {
+        return projetoRepository.findProjetadoById(projetoId, ProjetoResumoDTO.class)
+                .orElseThrow(() -> new ProjetoNaoEncontradoException("Projeto não encontrado com ID: " + projetoId));
+    }
+
+    private ProjetoDTO publicarMudancaStatus(ProjetoDTO projeto, StatusProjetoModel statusAnterior) {
+        eventPublisher.publishEvent(new ProjetoAlteradoEvent(projeto.getId(), projeto.getProfessorCriadorId(),
+                statusAnterior, projeto.getStatus()));
+        return projeto;
+    }
+
+    private ProjetoDTO buscarAtualizado(Long projetoId) {
+        return enriquecido(projetoRepository.findProjetadoById(projetoId, ProjetoDTO.class))
+                .orElseThrow(() -> new ProjetoNaoEncontradoException("Projeto não encontrado com ID: " + projetoId));
     }
 
     @Transactional
     public ProjetoDTO aprovarProjeto(Long projetoId) {
-        return toDTO(mudarStatusProjeto(projetoId, StatusProjetoModel.EM_ANDAMENTO, "APROVAR_PROJETO_ADMIN"));
+        mudarStatusProjeto(projetoId, StatusProjetoModel.EM_ANALISE, StatusProjetoModel.EM_ANDAMENTO, "APROVAR_PROJETO_ADMIN");
+        return publicarMudancaStatus(buscarAtualizado(projetoId), StatusProjetoModel.EM_ANALISE);
     }
 
     @Transactional
     public ProjetoDTO recusarProjeto(Long projetoId) {
-        return toDTO(mudarStatusProjeto(projetoId, StatusProjetoModel.RECUSADO, "RECUSAR_PROJETO_ADMIN"));
+        mudarStatusProjeto(projetoId, StatusProjetoModel.EM_ANALISE, StatusProjetoModel.RECUSADO, "RECUSAR_PROJETO_ADMIN");
+        return publicarMudancaStatus(buscarAtualizado(projetoId), StatusProjetoModel.EM_ANALISE);
+    }
+
+    /**
+     * Aprova ou recusa vários projetos com um único UPDATE condicionado ao status de origem
+     * {@code EM_ANALISE}. Cada ID recebe um resultado próprio; o enriquecimento com nomes de
+     * professor e grupo só é feito quando {@code enriquecer} é verdadeiro, depois do commit, para
+     * que as chamadas aos outros serviços não segurem as linhas bloqueadas pelo UPDATE.
+     */
+    public List<ResultadoAlteracaoStatusDTO> alterarStatusEmLote(Collection<Long> ids, StatusProjetoModel novoStatus,
+                                                                 boolean enriquecer) {
+        if (novoStatus != StatusProjetoModel.EM_ANDAMENTO && novoStatus != StatusProjetoModel.RECUSADO) {
+            throw new IllegalArgumentException("Alteração em lote só aceita os status EM_ANDAMENTO ou RECUSADO.");
+        }
+        List<Long> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        distintos.removeIf(Objects::isNull);
+        if (distintos.size() > AlteracaoStatusLoteDTO.MAXIMO_IDS) {
+            throw new IllegalArgumentException("No máximo " + AlteracaoStatusLoteDTO.MAXIMO_IDS + " projetos por requisição.");
+        }
+
+        Map<Long, StatusProjetoModel> statusAtuais = new HashMap<>();
+        Map<Long, ProjetoResumoDTO> atualizados = new HashMap<>();
+        transactionTemplate.executeWithoutResult(transacao ->
+                aplicarStatusEmLote(distintos, novoStatus, enriquecer, statusAtuais, atualizados));
+        if (enriquecer) enriquecimentoProjetoService.enriquecer(new ArrayList<>(atualizados.values()));
+
+        List<ResultadoAlteracaoStatusDTO> resultados = new ArrayList<>(distintos.size());
+        for (Long id : distintos) {
+            ResultadoAlteracaoStatusDTO resultado;
+            if (atualizados.containsKey(id)) {
+                resultado = new ResultadoAlteracaoStatusDTO(id, ResultadoAlteracaoStatus.ATUALIZADO, novoStatus);
+                resultado.setProjeto(atualizados.get(id));
+            } else if (statusAtuais.containsKey(id)) {
+                resultado = new ResultadoAlteracaoStatusDTO(id, ResultadoAlteracaoStatus.ESTADO_INVALIDO, statusAtuais.get(id));
+            } else {
+                resultado = new ResultadoAlteracaoStatusDTO(id, ResultadoAlteracaoStatus.NAO_ENCONTRADO, null);
+            }
+            resultados.add(resultado);
+        }
+        log.info("Alteração em lote para {}: {} de {} projetos atualizados.", novoStatus, atualizados.size(), distintos.size());
+        return resultados;
+    }
+
+    private void aplicarStatusEmLote(List<Long> ids, StatusProjetoModel novoStatus, boolean releitura,
+                                     Map<Long, StatusProjetoModel> statusAtuais,
+                                     Map<Long, ProjetoResumoDTO> atualizados) {
+        Map<Long, Long> professores = new HashMap<>();
+        List<Long> candidatos = new ArrayList<>();
+        for (ProjetoResumoDTO projeto : projetoRepository.findByIdIn(ids, ProjetoResumoDTO.class)) {
+            statusAtuais.put(projeto.getId(), projeto.getStatus());
+            professores.put(projeto.getId(), projeto.getProfessorCriadorId());
+            if (projeto.getStatus() == StatusProjetoModel.EM_ANALISE) candidatos.add(projeto.getId());
+        }
+
+        if (!candidatos.isEmpty()) {
+            int alterados = projetoRepository.atualizarStatusEmLote(candidatos, StatusProjetoModel.EM_ANALISE, novoStatus);
+            if (alterados != candidatos.size() || releitura) {
+                for (ProjetoResumoDTO projeto : projetoRepository.findByIdIn(candidatos, ProjetoResumoDTO.class)) {
+                    statusAtuais.put(projeto.getId(), projeto.getStatus());
+                    if (projeto.getStatus() == novoStatus) atualizados.put(projeto.getId(), projeto);
+                }
+            } else {
+                candidatos.forEach(id -> atualizados.put(id, null));
+            }
+        }
+
+        for (Long id : atualizados.keySet()) {
+            eventPublisher.publishEvent(new ProjetoAlteradoEvent(id, professores.get(id), StatusProjetoModel.EM_ANALISE, novoStatus));
+        }
     }
 
     @Transactional
     public ProjetoDTO finalizarProjeto(Long projetoId, Long requisitanteId, String roleRequisitante) {
-        ProjetoModel projeto = projetoRepository.findById(projetoId)
-                .orElseThrow(() -> new ProjetoNaoEncontradoException("Projeto não encontrado com ID: " + projetoId));
-
-        if (!roleRequisitante.equals("ROLE_ADMIN") && !projeto.getProfessorCriadorId().equals(requisitanteId)) {
-            throw new SecurityException("Usuário não tem permissão para finalizar este projeto.");
+        int alterados = roleRequisitante.equals("ROLE_ADMIN")
+                ? projetoRepository.atualizarStatusSe(projetoId, StatusProjetoModel.EM_ANDAMENTO, StatusProjetoModel.FINALIZADO)
+                : projetoRepository.atualizarStatusDoProfessorSe(projetoId, requisitanteId,
+                        StatusProjetoModel.EM_ANDAMENTO, StatusProjetoModel.FINALIZADO);
+        if (alterados == 0) {
+            ProjetoResumoDTO atual = buscarParaConflito(projetoId);
+            if (!roleRequisitante.equals("ROLE_ADMIN") && !requisitanteId.equals(atual.getProfessorCriadorId())) {
+                throw new SecurityException("Usuário não tem permissão para finalizar este projeto.");
+            }
+            throw new ConflitoEstadoProjetoException("Projeto só pode ser finalizado se estiver EM_ANDAMENTO. Status atual: " + atual.getStatus());
         }
-        if (projeto.getStatus() != StatusProjetoModel.EM_ANDAMENTO) {
-            throw new IllegalStateException("Projeto só pode ser finalizado se estiver EM_ANDAMENTO. Status atual: " + projeto.getStatus());
+
+        ProjetoDTO projetoFinalizado = publicarMudancaStatus(buscarAtualizado(projetoId), StatusProjetoModel.EM_ANDAMENTO);
+        if (projetoFinalizado.getGrupoId() != null) {
+            log.info("Projeto ID {} finalizado. Liberação do grupo ID {} enviada ao outbox.",
+                    projetoId, projetoFinalizado.getGrupoId());
+            outboxEventosProjetoService.registrar(TipoEventoProjeto.PROJETO_FINALIZADO, projetoId, projetoFinalizado.getGrupoId());
         }
-        return toDTO(mudarStatusProjeto(projetoId, StatusProjetoModel.FINALIZADO, "FINALIZAR_PROJETO"));
+        return projetoFinalizado;
     }
 
     @Transactional
@@ -196,51 +613,47 @@ public class GestaoProjetoService {
         if (projetoDTO.getDataInicio() != null) projetoExistente.setDataInicio(projetoDTO.getDataInicio());
 
         ProjetoModel projetoAtualizado = projetoRepository.save(projetoExistente);
+        eventPublisher.publishEvent(new DadosProjetoAlteradosEvent(projetoId));
         return toDTO(projetoAtualizado);
     }
 
     @Transactional
     public void deletarProjeto(Long projetoId) {
-        if (!projetoRepository.existsById(projetoId)) {
-            throw new ProjetoNaoEncontradoException("Projeto não encontrado com ID: " + projetoId);
-        }
+        ProjetoResumoDTO projeto = projetoRepository.findProjetadoById(projetoId, ProjetoResumoDTO.class)
+                .orElseThrow(() -> new ProjetoNaoEncontradoException("Projeto não encontrado com ID: " + projetoId));
 
         projetoRepository.deleteById(projetoId);
         log.info("Projeto ID {} deletado.", projetoId);
+        eventPublisher.publishEvent(ProjetoAlteradoEvent.removido(projetoId, projeto.getProfessorCriadorId(), projeto.getStatus()));
     }
 
     @Transactional
     public ProjetoDTO associarGrupo(Long projetoId, Long grupoId) {
-        ProjetoModel projeto = projetoRepository.findById(projetoId)
-                .orElseThrow(() -> new ProjetoNaoEncontradoException("Projeto não encontrado com ID: " + projetoId));
-
-        if (projeto.getStatus() != StatusProjetoModel.EM_ANDAMENTO) {
-            throw new IllegalStateException("Projeto deve estar EM_ANDAMENTO para associar um grupo. Status atual: " + projeto.getStatus());
-        }
-        if (projeto.getGrupoId() != null) {
-            throw new IllegalStateException("Projeto já possui um grupo associado (ID: " + projeto.getGrupoId() + ").");
+        if (projetoRepository.associarGrupoSe(projetoId, grupoId, StatusProjetoModel.EM_ANDAMENTO) == 0) {
+            ProjetoResumoDTO atual = buscarParaConflito(projetoId);
+            if (atual.getStatus() != StatusProjetoModel.EM_ANDAMENTO) {
+                throw new ConflitoEstadoProjetoException("Projeto deve estar EM_ANDAMENTO para associar um grupo. Status atual: " + atual.getStatus());
+            }
+            throw new ConflitoEstadoProjetoException("Projeto já possui um grupo associado (ID: " + atual.getGrupoId() + ").");
         }
-
-        log.info("Simulando associação: Projeto ID {} será associado ao Grupo ID {}.", projetoId, grupoId);
-        projeto.setGrupoId(grupoId);
-        ProjetoModel projetoAtualizado = projetoRepository.save(projeto);
-
-        return toDTO(projetoAtualizado);
+        log.info("Projeto ID {} associado ao Grupo ID {}.", projetoId, grupoId);
+        outboxEventosProjetoService.registrar(TipoEventoProjeto.GRUPO_ASSOCIADO, projetoId, grupoId);
+        eventPublisher.publishEvent(new DadosProjetoAlteradosEvent(projetoId));
+        return buscarAtualizado(projetoId);
     }
 
     @Transactional
     public ProjetoDTO desassociarGrupo(Long projetoId) {
-        ProjetoModel projeto = projetoRepository.findById(projetoId)
-                .orElseThrow(() -> new ProjetoNaoEncontradoException("Projeto não encontrado com ID: " + projetoId));
-
-        Long grupoIdAtual = projeto.getGrupoId();
-        if (grupoIdAtual == null) {
-            throw new IllegalStateException("Projeto não possui grupo associado.");
+        Long grupoId = buscarParaConflito(projetoId).getGrupoId();
+        if (grupoId == null) {
+            throw new ConflitoEstadoProjetoException("Projeto não possui grupo associado.");
         }
-
-
-        log.info("Simulando desassociação: Grupo ID {} será liberado do Projeto ID {}.", grupoIdAtual, projetoId);
-        projeto.setGrupoId(null);
-        return toDTO(projetoRepository.save(projeto));
+        if (projetoRepository.desassociarGrupoSe(projetoId, grupoId) == 0) {
+            throw new ConflitoEstadoProjetoException("Grupo do projeto foi alterado por outra requisição.");
+        }
+        log.info("Grupo ID {} desassociado do Projeto ID {}.", grupoId, projetoId);
+        outboxEventosProjetoService.registrar(TipoEventoProjeto.GRUPO_DESASSOCIADO, projetoId, grupoId);
+        eventPublisher.publishEvent(new DadosProjetoAlteradosEvent(projetoId));
+        return buscarAtualizado(projetoId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,208 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ErroImportacaoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ProjetoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ResultadoImportacaoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.event.ProjetoAlteradoEvent;
+import com.microservice.clientes.Clientes_microservice_curse.model.ProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.repository.ProjetoRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importa projetos em massa a partir de um array JSON ou de um CSV com cabeçalho. As colunas
+ * têm os mesmos nomes dos campos de {@link ProjetoDTO}.
+ * <p>
+ * As linhas são gravadas em lotes de {@value #TAMANHO_LOTE}, cada um na sua própria
+ * transação: a unicidade de nome e de grupo é conferida com uma consulta por lote, e os
+ * INSERTs saem agrupados em lotes JDBC graças à sequência de IDs. Linhas inválidas são
+ * relatadas sem interromper a importação; se o banco recusar um lote inteiro, só as linhas
+ * daquele lote são marcadas com erro.
+ */
+@Service
+@Timed(value = "projetos.importacao", histogram = true)
+public class ImportacaoProjetoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoProjetoService.class);
+    static final int TAMANHO_LOTE = 500;
+    private static final int TAMANHO_MAXIMO_TEXTO = 255;
+    private static final int TAMANHO_MAXIMO_ESCOPO = 1000;
+
+    private final ProjetoRepository projetoRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    @Autowired
+    public ImportacaoProjetoService(ProjetoRepository projetoRepository,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager,
+                                    ApplicationEventPublisher eventPublisher) {
+        this.projetoRepository = projetoRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    public ResultadoImportacaoDTO importarJson(JsonNode linhas, Long requisitanteId) {
+        if (linhas == null || !linhas.isArray()) {
+            throw new IllegalArgumentException("O corpo da importação deve ser um array JSON de projetos.");
+        }
+        List<LinhaImportacao> convertidas = new ArrayList<>(linhas.size());
+        int numero = 0;
+        for (JsonNode linha : linhas) {
+            convertidas.add(converter(++numero, linha));
+        }
+        return importar(convertidas, requisitanteId);
+    }
+
+    public ResultadoImportacaoDTO importarCsv(byte[] csv, Long requisitanteId) {
+        List<LinhaImportacao> convertidas = new ArrayList<>();
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        try (MappingIterator<Map<String, String>> linhas = csvMapper.readerForMapOf(String.class).with(schema).readValues(csv)) {
+            int numero = 0;
+            while (linhas.hasNextValue()) {
+                Map<String, String> linha = linhas.nextValue();
+                linha.values().removeIf(String::isEmpty);
+                convertidas.add(converter(++numero, objectMapper.valueToTree(linha)));
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("CSV inválido: " + e.getMessage(), e);
+        }
+        return importar(convertidas, requisitanteId);
+    }
+
+    private LinhaImportacao converter(int numero, JsonNode linha) {
+        try {
+            return new LinhaImportacao(numero, objectMapper.treeToValue(linha, ProjetoDTO.class), null);
+        } catch (IOException | IllegalArgumentException e) {
+            JsonNode nome = linha.get("nome");
+            return new LinhaImportacao(numero, null, new ErroImportacaoDTO(numero, nome != null ? nome.asText() : null,
+                    "Linha com valor inválido: " + e.getMessage()));
+        }
+    }
+
+    private ResultadoImportacaoDTO importar(List<LinhaImportacao> linhas, Long requisitanteId) {
+        List<ErroImportacaoDTO> erros = new ArrayList<>();
+        Set<String> nomesDoArquivo = new HashSet<>();
+        Set<Long> gruposDoArquivo = new HashSet<>();
+        List<LinhaImportacao> validas = new ArrayList<>();
+        for (LinhaImportacao linha : linhas) {
+            String erro = linha.erro() != null ? null : validar(linha.projeto(), nomesDoArquivo, gruposDoArquivo);
+            if (linha.erro() != null) {
+                erros.add(linha.erro());
+            } else if (erro != null) {
+                erros.add(new ErroImportacaoDTO(linha.numero(), linha.projeto().getNome(), erro));
+            } else {
+                validas.add(linha);
+            }
+        }
+
+        int importados = 0;
+        for (int inicio = 0; inicio < validas.size(); inicio += TAMANHO_LOTE) {
+            List<LinhaImportacao> lote = validas.subList(inicio, Math.min(inicio + TAMANHO_LOTE, validas.size()));
+            try {
+                importados += transactionTemplate.execute(status -> gravarLote(lote, requisitanteId, erros));
+            } catch (DataAccessException e) {
+                log.error("Lote de importação com {} projetos recusado pelo banco: {}", lote.size(), e.getMessage());
+                for (LinhaImportacao linha : lote) {
+                    erros.add(new ErroImportacaoDTO(linha.numero(), linha.projeto().getNome(),
+                            "Lote recusado pelo banco de dados; nenhuma linha do lote foi gravada."));
+                }
+            }
+        }
+
+        erros.sort((a, b) -> Integer.compare(a.getLinha(), b.getLinha()));
+        log.info("Importação concluída: {} de {} projetos gravados, {} erros.", importados, linhas.size(), erros.size());
+        return new ResultadoImportacaoDTO(linhas.size(), importados, erros);
+    }
+
+    private int gravarLote(List<LinhaImportacao> lote, Long requisitanteId, List<ErroImportacaoDTO> erros) {
+        Set<String> nomes = new HashSet<>();
+        Set<Long> grupoIds = new HashSet<>();
+        for (LinhaImportacao linha : lote) {
+            nomes.add(linha.projeto().getNome());
+            if (linha.projeto().getGrupoId() != null) grupoIds.add(linha.projeto().getGrupoId());
+        }
+        Set<String> nomesExistentes = new HashSet<>(projetoRepository.findNomesExistentes(nomes));
+        Set<Long> gruposEmUso = grupoIds.isEmpty() ? Set.of() : new HashSet<>(projetoRepository.findGrupoIdsEmUso(grupoIds));
+
+        List<ProjetoModel> novos = new ArrayList<>(lote.size());
+        List<ErroImportacaoDTO> errosDoLote = new ArrayList<>();
+        for (LinhaImportacao linha : lote) {
+            ProjetoDTO dto = linha.projeto();
+            if (nomesExistentes.contains(dto.getNome())) {
+                errosDoLote.add(new ErroImportacaoDTO(linha.numero(), dto.getNome(), "Já existe um projeto com o nome: " + dto.getNome()));
+            } else if (dto.getGrupoId() != null && gruposEmUso.contains(dto.getGrupoId())) {
+                errosDoLote.add(new ErroImportacaoDTO(linha.numero(), dto.getNome(), "Grupo já associado a outro projeto: " + dto.getGrupoId()));
+            } else {
+                novos.add(paraModelo(dto, requisitanteId));
+            }
+        }
+
+        projetoRepository.saveAll(novos);
+        projetoRepository.flush();
+        for (ProjetoModel novo : novos) {
+            eventPublisher.publishEvent(ProjetoAlteradoEvent.criado(novo.getId(), novo.getProfessorCriadorId(), novo.getStatus()));
+        }
+        erros.addAll(errosDoLote);
+        return novos.size();
+    }
+
+    private static String validar(ProjetoDTO projeto, Set<String> nomesDoArquivo, Set<Long> gruposDoArquivo) {
+        if (projeto.getNome() == null || projeto.getNome().isBlank()) {
+            return "Nome do projeto é obrigatório";
+        }
+        if (excede(projeto.getNome(), TAMANHO_MAXIMO_TEXTO) || excede(projeto.getObjetivo(), TAMANHO_MAXIMO_TEXTO)
+                || excede(projeto.getPublicoAlvo(), TAMANHO_MAXIMO_TEXTO) || excede(projeto.getEscopoResumo(), TAMANHO_MAXIMO_ESCOPO)) {
+            return "Texto maior que o permitido para a coluna.";
+        }
+        if (!nomesDoArquivo.add(projeto.getNome())) {
+            return "Nome repetido na importação: " + projeto.getNome();
+        }
+        if (projeto.getGrupoId() != null && !gruposDoArquivo.add(projeto.getGrupoId())) {
+            return "Grupo repetido na importação: " + projeto.getGrupoId();
+        }
+        return null;
+    }
+
+    private static boolean excede(String texto, int tamanhoMaximo) {
+        return texto != null && texto.length() > tamanhoMaximo;
+    }
+
+    private static ProjetoModel paraModelo(ProjetoDTO dto, Long requisitanteId) {
+        ProjetoModel model = new ProjetoModel();
+        model.setNome(dto.getNome());
+        model.setObjetivo(dto.getObjetivo());
+        model.setEscopoResumo(dto.getEscopoResumo());
+        model.setPublicoAlvo(dto.getPublicoAlvo());
+        model.setDataInicio(dto.getDataInicio());
+        model.setStatus(dto.getStatus() != null ? dto.getStatus() : StatusProjetoModel.EM_ANALISE);
+        model.setProfessorCriadorId(dto.getProfessorCriadorId() != null ? dto.getProfessorCriadorId() : requisitanteId);
+        model.setGrupoId(dto.getGrupoId());
+        return model;
+    }
+
+    private record LinhaImportacao(int numero, ProjetoDTO projeto, ErroImportacaoDTO erro) {}
+}
@@ -0,0 +1,146 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import com.microservice.clientes.Clientes_microservice_curse.config.CanalInvalidacaoCache;
+import com.microservice.clientes.Clientes_microservice_curse.dto.AlteracaoProjetoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.InvalidacaoCacheDTO;
+import com.microservice.clientes.Clientes_microservice_curse.event.CacheProjetosInvalidadoEvent;
+import com.microservice.clientes.Clientes_microservice_curse.event.DadosProjetoAlteradosEvent;
+import com.microservice.clientes.Clientes_microservice_curse.event.ProjetoAlteradoEvent;
+import com.microservice.clientes.Clientes_microservice_curse.event.ProjetosAlteradosEmOutraInstanciaEvent;
+import com.microservice.clientes.Clientes_microservice_curse.model.ProjetoModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Propaga às demais instâncias as alterações de projetos. Na instância que escreveu, o próprio
+ * Hibernate mantém o cache de segundo nível coerente; as outras só ficam sabendo pelo canal.
+ * Os IDs alterados numa transação são reunidos e enviados numa única mensagem após o commit.
+ * Quem recebe descarta as entidades citadas e toda a região de consultas. Nos dois lados, após
+ * o commit local e ao receber o aviso, sai um {@link CacheProjetosInvalidadoEvent} para que as
+ * leituras seguintes, que repovoam o cache, não venham de uma réplica ainda sem a alteração.
+ * <p>
+ * A mensagem leva também as mudanças de status da transação, republicadas em quem recebe como
+ * {@link ProjetosAlteradosEmOutraInstanciaEvent} para o feed de alterações.
+ */
+@Service
+public class InvalidacaoCacheProjetosService {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidacaoCacheProjetosService.class);
+
+    private final String origem = UUID.randomUUID().toString();
+    private final Object chaveTransacao = new Object();
+    private final CanalInvalidacaoCache canal;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter enviadas;
+    private final Counter recebidas;
+
+    @Autowired
+    public InvalidacaoCacheProjetosService(CanalInvalidacaoCache canal, EntityManagerFactory entityManagerFactory,
+                                           ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.canal = canal;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.enviadas = meterRegistry.counter("projetos.cache.invalidacoes", "sentido", "enviada");
+        this.recebidas = meterRegistry.counter("projetos.cache.invalidacoes", "sentido", "recebida");
+        canal.assinar(this::aoReceber);
+    }
+
+    @EventListener
+    public void aoAlterarProjeto(ProjetoAlteradoEvent evento) {
+        registrar(evento.getProjetoId(), new AlteracaoProjetoDTO(evento.getProjetoId(),
+                evento.getProfessorCriadorId(), evento.getStatusAnterior(), evento.getStatusNovo()));
+    }
+
+    @EventListener
+    public void aoAlterarDados(DadosProjetoAlteradosEvent evento) {
+        registrar(evento.getProjetoId());
+    }
+
+    void registrar(Long projetoId) {
+        registrar(projetoId, null);
+    }
+
+    private void registrar(Long projetoId, AlteracaoProjetoDTO alteracao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aposAlteracao(List.of(projetoId), alteracao != null ? List.of(alteracao) : List.of());
+            return;
+        }
+        Pendentes pendentes = (Pendentes) TransactionSynchronizationManager.getResource(chaveTransacao);
+        if (pendentes == null) {
+            Pendentes novos = new Pendentes();
+            TransactionSynchronizationManager.bindResource(chaveTransacao, novos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aposAlteracao(new ArrayList<>(novos.ids), novos.alteracoes);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(chaveTransacao);
+                }
+            });
+            pendentes = novos;
+        }
+        pendentes.ids.add(projetoId);
+        if (alteracao != null) pendentes.alteracoes.add(alteracao);
+    }
+
+    private void aposAlteracao(List<Long> projetoIds, List<AlteracaoProjetoDTO> alteracoes) {
+        // Updates em massa descartam a região inteira também aqui, não só nas outras instâncias.
+        eventPublisher.publishEvent(new CacheProjetosInvalidadoEvent(projetoIds.size(), false));
+        try {
+            canal.publicar(new InvalidacaoCacheDTO(origem, projetoIds, alteracoes));
+            enviadas.increment();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao publicar invalidação de cache de {} projetos: {}", projetoIds.size(), e.getMessage());
+        }
+    }
+
+    void aoReceber(InvalidacaoCacheDTO invalidacao) {
+        if (origem.equals(invalidacao.getOrigem())) return;
+        // Antes do descarte: a primeira leitura que repovoar o cache já precisa ir ao primário.
+        eventPublisher.publishEvent(new CacheProjetosInvalidadoEvent(
+                invalidacao.getProjetoIds() != null ? invalidacao.getProjetoIds().size() : 0, true));
+        jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+        if (invalidacao.getProjetoIds() != null) {
+            for (Long id : invalidacao.getProjetoIds()) {
+                cache.evict(ProjetoModel.class, id);
+            }
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        recebidas.increment();
+        // Depois do descarte: quem for avisado pelo feed e recarregar já lê os dados novos.
+        if (invalidacao.getAlteracoes() != null && !invalidacao.getAlteracoes().isEmpty()) {
+            List<ProjetoAlteradoEvent> alteracoes = new ArrayList<>(invalidacao.getAlteracoes().size());
+            for (AlteracaoProjetoDTO alteracao : invalidacao.getAlteracoes()) {
+                alteracoes.add(new ProjetoAlteradoEvent(alteracao.getProjetoId(), alteracao.getProfessorCriadorId(),
+                        alteracao.getStatusAnterior(), alteracao.getStatusNovo()));
+            }
+            eventPublisher.publishEvent(new ProjetosAlteradosEmOutraInstanciaEvent(alteracoes));
+        }
+    }
+
+    private static final class Pendentes {
+
+        private final Set<Long> ids = new LinkedHashSet<>();
+        private final List<AlteracaoProjetoDTO> alteracoes = new ArrayList<>();
+    }
+}
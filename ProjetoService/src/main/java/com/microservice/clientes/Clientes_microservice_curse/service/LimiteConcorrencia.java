@@ -0,0 +1,130 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import com.microservice.clientes.Clientes_microservice_curse.config.EnriquecimentoProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Bulkhead de um serviço remoto com limite de concorrência adaptativo (AIMD). Chamadas acima do
+ * limite são recusadas na hora, sem fila. O limite sobe uma unidade a cada chamada concluída
+ * dentro da latência tolerada enquanto pelo menos metade dele está em uso, e é multiplicado pelo
+ * fator de redução quando uma chamada falha ou passa da latência tolerada.
+ * <p>
+ * Exporta {@code projetos.clientes.concorrencia.limite}, {@code .em_andamento} e
+ * {@code .rejeicoes}, com a tag {@code servico}.
+ */
+class LimiteConcorrencia {
+
+    private final int minimo;
+    private final int maximo;
+    private final long latenciaToleradaNanos;
+    private final double fatorReducao;
+    private final LongSupplier relogioNanos;
+    private final Counter rejeicoes;
+    private double limite;
+    private int emAndamento;
+
+    LimiteConcorrencia(String servico, EnriquecimentoProperties.Limite propriedades, MeterRegistry meterRegistry) {
+        this(servico, propriedades, meterRegistry, System::nanoTime);
+    }
+
+    LimiteConcorrencia(String servico, EnriquecimentoProperties.Limite propriedades, MeterRegistry meterRegistry,
+                       LongSupplier relogioNanos) {
+        if (propriedades.getMinimo() < 1 || propriedades.getMaximo() < propriedades.getMinimo()) {
+            throw new IllegalArgumentException("Limites de concorrência inválidos: mínimo " + propriedades.getMinimo()
+                    + ", máximo " + propriedades.getMaximo());
+        }
+        if (propriedades.getFatorReducao() <= 0 || propriedades.getFatorReducao() >= 1) {
+            throw new IllegalArgumentException("Fator de redução deve estar entre 0 e 1: " + propriedades.getFatorReducao());
+        }
+        this.minimo = propriedades.getMinimo();
+        this.maximo = propriedades.getMaximo();
+        this.latenciaToleradaNanos = propriedades.getLatenciaTolerada().toNanos();
+        this.fatorReducao = propriedades.getFatorReducao();
+        this.relogioNanos = relogioNanos;
+        this.limite = Math.max(minimo, Math.min(maximo, propriedades.getInicial()));
+
+        Gauge.builder("projetos.clientes.concorrencia.limite", this, LimiteConcorrencia::getLimite)
+                .description("Chamadas simultâneas permitidas ao serviço")
+                .tag("servico", servico)
+                .register(meterRegistry);
+        Gauge.builder("projetos.clientes.concorrencia.em_andamento", this, LimiteConcorrencia::getEmAndamento)
+                .description("Chamadas em andamento ao serviço")
+                .tag("servico", servico)
+                .register(meterRegistry);
+        this.rejeicoes = Counter.builder("projetos.clientes.concorrencia.rejeicoes")
+                .description("Chamadas recusadas por excederem o limite de concorrência")
+                .tag("servico", servico)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserva uma vaga para a chamada, ou devolve vazio se o limite já está ocupado. A vaga
+     * deve ser liberada por exatamente um dos métodos de {@link Permissao}.
+     */
+    Optional<Permissao> adquirir() {
+        int ocupadas;
+        synchronized (this) {
+            if (emAndamento >= (int) limite) {
+                ocupadas = -1;
+            } else {
+                ocupadas = ++emAndamento;
+            }
+        }
+        if (ocupadas < 0) {
+            rejeicoes.increment();
+            return Optional.empty();
+        }
+        return Optional.of(new Permissao(ocupadas, relogioNanos.getAsLong()));
+    }
+
+    synchronized int getLimite() {
+        return (int) limite;
+    }
+
+    synchronized int getEmAndamento() {
+        return emAndamento;
+    }
+
+    private synchronized void liberar(int ocupadasNaAquisicao, long inicio, Resultado resultado) {
+        emAndamento--;
+        boolean lenta = relogioNanos.getAsLong() - inicio > latenciaToleradaNanos;
+        if (resultado == Resultado.FALHA || (resultado == Resultado.SUCESSO && lenta)) {
+            limite = Math.max(minimo, limite * fatorReducao);
+        } else if (resultado == Resultado.SUCESSO && ocupadasNaAquisicao * 2 >= (int) limite) {
+            limite = Math.min(maximo, limite + 1);
+        }
+    }
+
+    private enum Resultado { SUCESSO, FALHA, IGNORADA }
+
+    final class Permissao {
+
+        private final int ocupadasNaAquisicao;
+        private final long inicio;
+
+        private Permissao(int ocupadasNaAquisicao, long inicio) {
+            this.ocupadasNaAquisicao = ocupadasNaAquisicao;
+            this.inicio = inicio;
+        }
+
+        /** A chamada respondeu; a latência decide se o limite sobe ou desce. */
+        void sucesso() {
+            liberar(ocupadasNaAquisicao, inicio, Resultado.SUCESSO);
+        }
+
+        /** A chamada falhou por erro de servidor ou timeout, sinal de sobrecarga. */
+        void falha() {
+            liberar(ocupadasNaAquisicao, inicio, Resultado.FALHA);
+        }
+
+        /** A chamada não diz nada sobre a carga do serviço, como um 4xx ou o disjuntor aberto. */
+        void ignorar() {
+            liberar(ocupadasNaAquisicao, inicio, Resultado.IGNORADA);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import com.microservice.clientes.Clientes_microservice_curse.Clients.GroupServiceClient;
+import com.microservice.clientes.Clientes_microservice_curse.config.OutboxProperties;
+import com.microservice.clientes.Clientes_microservice_curse.dto.EventoProjetoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.enums.TipoEventoProjeto;
+import com.microservice.clientes.Clientes_microservice_curse.model.EventoProjetoOutboxModel;
+import com.microservice.clientes.Clientes_microservice_curse.repository.EventoProjetoOutboxRepository;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox das notificações ao group-service. Os eventos são gravados na transação que alterou
+ * o projeto e enviados depois, em lotes, por um despachante agendado, sem somar a latência do
+ * group-service às requisições de escrita.
+ * <p>
+ * Cada instância reserva seu lote com {@code SKIP LOCKED} e um prazo de reserva, então várias
+ * instâncias despacham sem enviar o mesmo evento duas vezes. Um lote recusado é reenviado evento
+ * a evento para isolar o culpado: falhas transitórias reagendam o evento com backoff exponencial,
+ * e recusas 4xx ou tentativas esgotadas o estacionam. Só o evento mais antigo de cada projeto
+ * é enviado por vez, o que mantém a ordem por projeto. Essa ordem é a dos IDs,
+ * tirados da sequência um a um depois da escrita no projeto, cuja trava de linha serializa as
+ * transações do mesmo projeto mesmo entre instâncias. A entrega é "pelo menos
+ * uma vez": o ID do evento permite ao group-service descartar reenvios.
+ */
+@Service
+public class OutboxEventosProjetoService {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxEventosProjetoService.class);
+    private static final int TAMANHO_MAXIMO_ERRO = 500;
+
+    private final EventoProjetoOutboxRepository outboxRepository;
+    private final GroupServiceClient groupServiceClient;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties propriedades;
+    private final Clock relogio;
+    private final Timer atrasoEntrega;
+    private final Counter falhas;
+    private final Counter estacionados;
+    private final AtomicLong atrasoPendenteMillis = new AtomicLong();
+    private final AtomicLong totalEstacionados = new AtomicLong();
+
+    @Autowired
+    public OutboxEventosProjetoService(EventoProjetoOutboxRepository outboxRepository,
+                                       @Lazy GroupServiceClient groupServiceClient,
+                                       PlatformTransactionManager transactionManager,
+                                       OutboxProperties propriedades,
+                                       MeterRegistry meterRegistry) {
+        this(outboxRepository, groupServiceClient, transactionManager, propriedades, meterRegistry, Clock.systemUTC());
+    }
+
+    OutboxEventosProjetoService(EventoProjetoOutboxRepository outboxRepository,
+                                GroupServiceClient groupServiceClient,
+                                PlatformTransactionManager transactionManager,
+                                OutboxProperties propriedades,
+                                MeterRegistry meterRegistry,
+                                Clock relogio) {
+        this.outboxRepository = outboxRepository;
+        this.groupServiceClient = groupServiceClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.propriedades = propriedades;
+        this.relogio = relogio;
+        this.atrasoEntrega = Timer.builder("projetos.outbox.entrega")
+                .description("Tempo entre a gravação do evento e a confirmação do group-service")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.falhas = meterRegistry.counter("projetos.outbox.falhas");
+        this.estacionados = Counter.builder("projetos.outbox.estacionados")
+                .description("Eventos tirados do despacho por recusa definitiva ou tentativas esgotadas")
+                .register(meterRegistry);
+        Gauge.builder("projetos.outbox.estacionados.pendentes", totalEstacionados, AtomicLong::get)
+                .description("Eventos estacionados que aguardam intervenção manual")
+                .register(meterRegistry);
+        TimeGauge.builder("projetos.outbox.atraso", atrasoPendenteMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Idade do evento pendente mais antigo")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Grava o evento na transação corrente; sem transação ativa a chamada falha, já que o
+     * evento não pode existir sem a alteração que o originou.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(TipoEventoProjeto tipo, Long projetoId, Long grupoId) {
+        outboxRepository.save(new EventoProjetoOutboxModel(projetoId, tipo, grupoId, relogio.instant()));
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.intervalo:PT1S}")
+    public void despacharAgendado() {
+        despachar();
+    }
+
+    /**
+     * Envia os eventos prontos, lote a lote, até esvaziar o outbox ou o group-service falhar.
+     * Devolve quantos eventos foram confirmados.
+     */
+    public int despachar() {
+        int enviados = 0;
+        while (true) {
+            List<EventoProjetoOutboxModel> lote = transactionTemplate.execute(status -> reservarLote());
+            if (lote.isEmpty()) break;
+
+            try {
+                groupServiceClient.receberEventosProjetos(paraEnvio(lote));
+                confirmar(lote);
+                enviados += lote.size();
+                continue;
+            } catch (RuntimeException e) {
+                if (lote.size() == 1) {
+                    registrarFalha(lote.get(0), e);
+                    if (permanente(e)) continue;
+                    break;
+                }
+                log.warn("Lote de {} eventos recusado pelo group-service; reenviando um a um: {}",
+                        lote.size(), e.getMessage());
+            }
+
+            EnvioUmAUm envio = enviarUmAUm(lote);
+            enviados += envio.confirmados();
+            if (envio.interrompido()) break;
+        }
+        atualizarAtrasoPendente();
+        return enviados;
+    }
+
+    /**
+     * Trava os eventos prontos, pulando os já travados por outra instância, e os adia pelo
+     * prazo da reserva antes de liberar a trava, de modo que nenhuma outra instância os pegue
+     * enquanto o envio estiver em andamento.
+     */
+    private List<EventoProjetoOutboxModel> reservarLote() {
+        Instant agora = relogio.instant();
+        List<EventoProjetoOutboxModel> lote =
+                outboxRepository.findProntosParaEnvio(agora, Limit.of(propriedades.getTamanhoLote()));
+        if (!lote.isEmpty()) {
+            outboxRepository.reservar(ids(lote), agora.plus(propriedades.getReserva()));
+        }
+        return lote;
+    }
+
+    /**
+     * Isola o evento que derrubou o lote. Recusas definitivas estacionam o evento e o envio
+     * segue; na primeira falha transitória o envio para e os eventos ainda não tentados voltam
+     * a ficar prontos, sem contar tentativa.
+     */
+    private EnvioUmAUm enviarUmAUm(List<EventoProjetoOutboxModel> lote) {
+        int confirmados = 0;
+        for (int i = 0; i < lote.size(); i++) {
+            EventoProjetoOutboxModel evento = lote.get(i);
+            try {
+                groupServiceClient.receberEventosProjetos(paraEnvio(List.of(evento)));
+            } catch (RuntimeException e) {
+                registrarFalha(evento, e);
+                if (permanente(e)) continue;
+                List<Long> naoTentados = ids(lote.subList(i + 1, lote.size()));
+                if (!naoTentados.isEmpty()) {
+                    Instant agora = relogio.instant();
+                    transactionTemplate.executeWithoutResult(status -> outboxRepository.reservar(naoTentados, agora));
+                }
+                return new EnvioUmAUm(confirmados, true);
+            }
+            confirmar(List.of(evento));
+            confirmados++;
+        }
+        return new EnvioUmAUm(confirmados, false);
+    }
+
+    private void confirmar(List<EventoProjetoOutboxModel> eventos) {
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.deleteAllByIdInBatch(ids(eventos)));
+        Instant confirmado = relogio.instant();
+        for (EventoProjetoOutboxModel evento : eventos) {
+            atrasoEntrega.record(Duration.between(evento.getCriadoEm(), confirmado));
+        }
+    }
+
+    /**
+     * Reagenda o evento com backoff, ou o estaciona quando o group-service o recusou de vez ou
+     * as tentativas se esgotaram. Estacionado, ele sai do despacho e deixa de reter os eventos
+     * seguintes do mesmo projeto.
+     */
+    private void registrarFalha(EventoProjetoOutboxModel evento, RuntimeException e) {
+        int tentativa = evento.getTentativas() + 1;
+        String erro = resumirErro(e);
+        falhas.increment();
+        if (permanente(e) || tentativa >= propriedades.getMaximoTentativas()) {
+            Instant agora = relogio.instant();
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxRepository.estacionar(List.of(evento.getId()), agora, erro));
+            estacionados.increment();
+            log.error("Evento {} do projeto {} estacionado após {} tentativa(s): {}",
+                    evento.getId(), evento.getProjetoId(), tentativa, erro);
+            return;
+        }
+        Instant proximaTentativa = relogio.instant().plus(backoff(tentativa));
+        transactionTemplate.executeWithoutResult(status ->
+                outboxRepository.registrarFalha(List.of(evento.getId()), proximaTentativa, erro));
+        log.warn("Falha ao enviar o evento {} ao group-service (tentativa {}). Nova tentativa em {}: {}",
+                evento.getId(), tentativa, proximaTentativa, e.getMessage());
+    }
+
+    /**
+     * Erros 4xx indicam que o group-service não vai aceitar o evento em nenhum reenvio; 408 e
+     * 429 são a exceção, por dependerem só do momento da chamada.
+     */
+    static boolean permanente(RuntimeException e) {
+        if (!(e instanceof FeignException feign)) return false;
+        int status = feign.status();
+        return status >= 400 && status < 500 && status != 408 && status != 429;
+    }
+
+    Duration backoff(int tentativa) {
+        Duration maximo = propriedades.getBackoffMaximo();
+        Duration atraso = propriedades.getBackoffInicial();
+        for (int i = 1; i < tentativa && atraso.compareTo(maximo) < 0; i++) {
+            atraso = atraso.multipliedBy(2);
+        }
+        return atraso.compareTo(maximo) > 0 ? maximo : atraso;
+    }
+
+    private void atualizarAtrasoPendente() {
+        Instant maisAntigo = transactionTemplate.execute(status -> outboxRepository.findCriadoEmMaisAntigo().orElse(null));
+        atrasoPendenteMillis.set(maisAntigo == null ? 0L
+                : Math.max(0L, Duration.between(maisAntigo, relogio.instant()).toMillis()));
+        totalEstacionados.set(transactionTemplate.execute(status -> outboxRepository.countByEstacionadoEmIsNotNull()));
+    }
+
+    private static List<EventoProjetoDTO> paraEnvio(List<EventoProjetoOutboxModel> lote) {
+        List<EventoProjetoDTO> eventos = new ArrayList<>(lote.size());
+        for (EventoProjetoOutboxModel evento : lote) {
+            eventos.add(new EventoProjetoDTO(evento.getId(), evento.getProjetoId(), evento.getTipo(),
+                    evento.getGrupoId(), evento.getCriadoEm()));
+        }
+        return eventos;
+    }
+
+    private static List<Long> ids(List<EventoProjetoOutboxModel> eventos) {
+        return eventos.stream().map(EventoProjetoOutboxModel::getId).toList();
+    }
+
+    private static String resumirErro(RuntimeException e) {
+        String mensagem = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return mensagem.length() > TAMANHO_MAXIMO_ERRO ? mensagem.substring(0, TAMANHO_MAXIMO_ERRO) : mensagem;
+    }
+
+    private record EnvioUmAUm(int confirmados, boolean interrompido) {
+    }
+}
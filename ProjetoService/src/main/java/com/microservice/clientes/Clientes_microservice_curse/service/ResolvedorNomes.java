@@ -0,0 +1,296 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.microservice.clientes.Clientes_microservice_curse.config.EnriquecimentoProperties;
+import com.microservice.clientes.Clientes_microservice_curse.exception.ServicoIndisponivelException;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Resolve nomes de um serviço remoto a partir de um conjunto de IDs, consultando cada ID
+ * distinto uma única vez através do endpoint em lote do serviço.
+ * <p>
+ * Os nomes ficam num cache local limitado. Entradas antigas continuam sendo servidas enquanto
+ * são recarregadas em segundo plano, e IDs inexistentes são lembrados por um prazo menor.
+ * <p>
+ * As chamadas passam por um disjuntor por serviço. Com o disjuntor aberto a falha é imediata:
+ * o cache continua servindo o último nome conhecido e os demais IDs recebem o nome de
+ * indisponibilidade, sem esperar o timeout do cliente HTTP.
+ * <p>
+ * Requisições simultâneas que pedem o mesmo ID ausente do cache compartilham uma única busca
+ * ({@link SingleFlight}) e recebem o mesmo resultado; os IDs atendidos assim são contados em
+ * {@code projetos.clientes.coalescidas}.
+ * <p>
+ * Antes do disjuntor, um {@link LimiteConcorrencia} por serviço limita as chamadas simultâneas;
+ * acima do limite a chamada também cai direto no nome de indisponibilidade.
+ * <p>
+ * Cada chamada ao serviço é medida em {@code projetos.clientes.chamadas}, com o resultado
+ * {@code sucesso}, {@code FeignException} (erro devolvido pelo serviço) ou {@code fallback}
+ * (chamada recusada pelo disjuntor ou falha de comunicação).
+ */
+class ResolvedorNomes {
+
+    private static final Logger log = LoggerFactory.getLogger(ResolvedorNomes.class);
+
+    private final String servico;
+    private final Function<List<Long>, Map<Long, String>> buscaEmLote;
+    private final int tamanhoLote;
+    private final String nomeIndisponivel;
+    private final CircuitBreaker disjuntor;
+    private final LimiteConcorrencia limite;
+    private final LoadingCache<Long, Optional<String>> cache;
+    private final SingleFlight<Long, Optional<String>> buscasEmAndamento = new SingleFlight<>();
+    private final Counter coalescidas;
+    private final Counter lotesRecusados;
+    private final MeterRegistry meterRegistry;
+    private final Timer chamadasComSucesso;
+    private final Timer chamadasComErroFeign;
+    private final Timer chamadasComFallback;
+
+    ResolvedorNomes(String servico, String metodo, Function<List<Long>, Map<Long, String>> buscaEmLote, CircuitBreaker disjuntor,
+                    EnriquecimentoProperties propriedades, String nomeIndisponivel,
+                    Executor executorRecarga, MeterRegistry meterRegistry) {
+        if (propriedades.getTamanhoLote() < 1) {
+            throw new IllegalArgumentException("Tamanho do lote deve ser maior que zero: " + propriedades.getTamanhoLote());
+        }
+        this.servico = servico;
+        this.buscaEmLote = buscaEmLote;
+        this.disjuntor = disjuntor;
+        this.limite = new LimiteConcorrencia(servico, propriedades.getLimite(), meterRegistry);
+        this.tamanhoLote = propriedades.getTamanhoLote();
+        this.nomeIndisponivel = nomeIndisponivel;
+        this.meterRegistry = meterRegistry;
+        this.chamadasComSucesso = timerChamadas(meterRegistry, servico, metodo, "sucesso");
+        this.chamadasComErroFeign = timerChamadas(meterRegistry, servico, metodo, "FeignException");
+        this.chamadasComFallback = timerChamadas(meterRegistry, servico, metodo, "fallback");
+        this.coalescidas = Counter.builder("projetos.clientes.coalescidas")
+                .description("IDs resolvidos por uma busca já em andamento de outra requisição")
+                .tag("servico", servico)
+                .register(meterRegistry);
+        this.lotesRecusados = Counter.builder("projetos.clientes.lotes.recusados")
+                .description("Lotes não buscados porque o executor do enriquecimento recusou a tarefa")
+                .tag("servico", servico)
+                .register(meterRegistry);
+
+        EnriquecimentoProperties.Cache configCache = propriedades.getCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(configCache.getTamanhoMaximo())
+                .expireAfter(new ExpiracaoNomes(configCache.getTtl(), configCache.getTtlNegativo()))
+                .refreshAfterWrite(configCache.getRefreshAposEscrita())
+                .executor(executorRecarga)
+                .recordStats()
+                .build(this::carregar);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "nomes." + servico);
+    }
+
+    /**
+     * Resolve os nomes dos IDs informados. Os IDs que não estão no cache nem sendo buscados por
+     * outra requisição são divididos em lotes consultados em paralelo no executor. O mapa
+     * resultante tem uma entrada para cada ID; IDs não encontrados ou cujo lote falhou recebem
+     * o nome de indisponibilidade.
+     */
+    Consulta resolver(Collection<Long> ids, Executor executor) {
+        List<Long> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        distintos.removeIf(Objects::isNull);
+
+        Map<Long, Optional<String>> encontrados = new ConcurrentHashMap<>(cache.getAllPresent(distintos));
+        List<Long> ausentes = new ArrayList<>();
+        for (Long id : distintos) {
+            if (!encontrados.containsKey(id)) ausentes.add(id);
+        }
+
+        SingleFlight.Reserva<Long, Optional<String>> reserva = buscasEmAndamento.reservar(ausentes);
+        List<CompletableFuture<Void>> lotes = new ArrayList<>();
+        reserva.getCompartilhadas().forEach((id, busca) -> {
+            coalescidas.increment();
+            lotes.add(busca.handle((nome, falha) -> {
+                if (nome != null) encontrados.put(id, nome);
+                return null;
+            }));
+        });
+
+        // Quem terminou uma busca entre a leitura do cache e a reserva já gravou o nome nele.
+        List<Long> proprios = new ArrayList<>();
+        for (Long id : reserva.getProprias()) {
+            Optional<String> nome = cache.getIfPresent(id);
+            if (nome != null) {
+                encontrados.put(id, nome);
+                reserva.concluir(id, nome);
+            } else {
+                proprios.add(id);
+            }
+        }
+        for (int inicio = 0; inicio < proprios.size(); inicio += tamanhoLote) {
+            List<Long> lote = proprios.subList(inicio, Math.min(inicio + tamanhoLote, proprios.size()));
+            try {
+                lotes.add(CompletableFuture.runAsync(() -> buscarLote(lote, encontrados, reserva), executor));
+            } catch (RejectedExecutionException e) {
+                // Pool saturado ou encerrado: o lote fica indisponível e a reserva é liberada
+                // para que as próximas requisições possam buscar esses IDs.
+                lotesRecusados.increment();
+                log.warn("Busca de {} IDs no {} recusada pelo executor: {}", lote.size(), servico, e.getMessage());
+                reserva.falhar(lote, e);
+            }
+        }
+
+        return new Consulta(distintos, encontrados,
+                CompletableFuture.allOf(lotes.toArray(CompletableFuture<?>[]::new)));
+    }
+
+    private void buscarLote(List<Long> lote, Map<Long, Optional<String>> encontrados,
+                            SingleFlight.Reserva<Long, Optional<String>> reserva) {
+        try {
+            Map<Long, String> nomes = buscarComDisjuntor(lote);
+            for (Long id : lote) {
+                Optional<String> nome = Optional.ofNullable(nomes.get(id));
+                encontrados.put(id, nome);
+                cache.put(id, nome);
+                reserva.concluir(id, nome);
+            }
+        } catch (FeignException | ServicoIndisponivelException e) {
+            log.error("Falha ao buscar nomes no {} para {} IDs: {}", servico, lote.size(), e.getMessage());
+            reserva.falhar(lote, e);
+        } catch (RuntimeException e) {
+            reserva.falhar(lote, e);
+            throw e;
+        }
+    }
+
+    private Optional<String> carregar(Long id) {
+        return Optional.ofNullable(buscarComDisjuntor(List.of(id)).get(id));
+    }
+
+    private Map<Long, String> buscarComDisjuntor(List<Long> lote) {
+        LimiteConcorrencia.Permissao permissao = limite.adquirir().orElseThrow(() ->
+                new ServicoIndisponivelException("Limite de chamadas simultâneas ao " + servico + " atingido.", null));
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        Timer resultado = chamadasComFallback;
+        AtomicBoolean executada = new AtomicBoolean();
+        boolean erroDoCliente = false;
+        try {
+            Map<Long, String> nomes = disjuntor.run(() -> {
+                executada.set(true);
+                return buscaEmLote.apply(lote);
+            }, falha -> {
+                if (falha instanceof FeignException) {
+                    throw (FeignException) falha;
+                }
+                throw new ServicoIndisponivelException("Chamada ao " + servico + " não permitida: " + falha.getMessage(), falha);
+            });
+            resultado = chamadasComSucesso;
+            return nomes;
+        } catch (FeignException e) {
+            resultado = chamadasComErroFeign;
+            erroDoCliente = e.status() >= 400 && e.status() < 500;
+            throw e;
+        } finally {
+            amostra.stop(resultado);
+            if (resultado == chamadasComSucesso) {
+                permissao.sucesso();
+            } else if (!executada.get() || erroDoCliente) {
+                permissao.ignorar();
+            } else {
+                permissao.falha();
+            }
+        }
+    }
+
+    /**
+     * Resolução em andamento. {@link #getConcluida()} completa quando todos os lotes terminam;
+     * {@link #parcial()} serve quem não pode esperar, com os nomes que já chegaram.
+     */
+    final class Consulta {
+
+        private final List<Long> ids;
+        private final Map<Long, Optional<String>> encontrados;
+        private final CompletableFuture<NomesResolvidos> concluida;
+
+        private Consulta(List<Long> ids, Map<Long, Optional<String>> encontrados, CompletableFuture<Void> lotes) {
+            this.ids = ids;
+            this.encontrados = encontrados;
+            this.concluida = lotes.thenApply(concluido -> parcial());
+        }
+
+        CompletableFuture<NomesResolvidos> getConcluida() {
+            return concluida;
+        }
+
+        /** Nomes já resolvidos; os IDs ainda pendentes recebem o nome de indisponibilidade. */
+        NomesResolvidos parcial() {
+            Map<Long, String> resultado = new HashMap<>();
+            boolean incompletos = false;
+            for (Long id : ids) {
+                Optional<String> nome = encontrados.get(id);
+                if (nome == null) incompletos = true;
+                resultado.put(id, nome != null && nome.isPresent() ? nome.get() : nomeIndisponivel);
+            }
+            return new NomesResolvidos(resultado, incompletos);
+        }
+    }
+
+    /**
+     * Nomes por ID. {@code incompletos} indica que algum ID ficou sem resposta do serviço (falha,
+     * recusa ou prazo esgotado), e não apenas que o serviço não o conhece.
+     */
+    record NomesResolvidos(Map<Long, String> nomes, boolean incompletos) {
+    }
+
+    private static Timer timerChamadas(MeterRegistry meterRegistry, String servico, String metodo, String resultado) {
+        return Timer.builder("projetos.clientes.chamadas")
+                .description("Chamadas em lote aos serviços de nomes")
+                .tag("servico", servico)
+                .tag("metodo", metodo)
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    private static final class ExpiracaoNomes implements Expiry<Long, Optional<String>> {
+
+        private final long ttlNanos;
+        private final long ttlNegativoNanos;
+
+        private ExpiracaoNomes(Duration ttl, Duration ttlNegativo) {
+            this.ttlNanos = ttl.toNanos();
+            this.ttlNegativoNanos = ttlNegativo.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Long id, Optional<String> nome, long tempoAtual) {
+            return nome.isPresent() ? ttlNanos : ttlNegativoNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long id, Optional<String> nome, long tempoAtual, long duracaoAtual) {
+            return expireAfterCreate(id, nome, tempoAtual);
+        }
+
+        @Override
+        public long expireAfterRead(Long id, Optional<String> nome, long tempoAtual, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Junta consultas simultâneas pela mesma chave: o primeiro a reservar uma chave faz a busca e
+ * os demais recebem o futuro dele, com o mesmo resultado ou o mesmo erro. A chave sai do mapa
+ * assim que a busca termina, então nada fica guardado além das consultas em andamento.
+ * <p>
+ * Não há trava própria: a reserva é um {@code putIfAbsent} no {@link ConcurrentHashMap}, que
+ * só disputa com chaves do mesmo bin.
+ */
+class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+
+    /**
+     * Reserva as chaves informadas. As que ninguém está buscando ficam com quem chamou, que
+     * deve concluir ou falhar cada uma; as demais vêm com o futuro da busca já em andamento.
+     */
+    Reserva<K, V> reservar(Collection<K> chaves) {
+        Map<K, CompletableFuture<V>> proprias = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> compartilhadas = new HashMap<>();
+        for (K chave : chaves) {
+            CompletableFuture<V> novo = new CompletableFuture<>();
+            CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, novo);
+            if (existente == null) {
+                proprias.put(chave, novo);
+            } else {
+                compartilhadas.put(chave, existente);
+            }
+        }
+        return new Reserva<>(emAndamento, proprias, compartilhadas);
+    }
+
+    int getEmAndamento() {
+        return emAndamento.size();
+    }
+
+    static final class Reserva<K, V> {
+
+        private final ConcurrentHashMap<K, CompletableFuture<V>> emAndamento;
+        private final Map<K, CompletableFuture<V>> proprias;
+        private final Map<K, CompletableFuture<V>> compartilhadas;
+
+        private Reserva(ConcurrentHashMap<K, CompletableFuture<V>> emAndamento,
+                        Map<K, CompletableFuture<V>> proprias, Map<K, CompletableFuture<V>> compartilhadas) {
+            this.emAndamento = emAndamento;
+            this.proprias = proprias;
+            this.compartilhadas = compartilhadas;
+        }
+
+        /** Chaves que cabe a quem reservou buscar. */
+        List<K> getProprias() {
+            return new ArrayList<>(proprias.keySet());
+        }
+
+        /** Buscas de outras threads que incluem as chaves pedidas. */
+        Map<K, CompletableFuture<V>> getCompartilhadas() {
+            return compartilhadas;
+        }
+
+        void concluir(K chave, V valor) {
+            CompletableFuture<V> futuro = liberar(chave);
+            if (futuro != null) futuro.complete(valor);
+        }
+
+        void falhar(Collection<K> chaves, Throwable erro) {
+            for (K chave : chaves) {
+                CompletableFuture<V> futuro = liberar(chave);
+                if (futuro != null) futuro.completeExceptionally(erro);
+            }
+        }
+
+        private CompletableFuture<V> liberar(K chave) {
+            CompletableFuture<V> futuro = proprias.get(chave);
+            if (futuro != null) emAndamento.remove(chave, futuro);
+            return futuro;
+        }
+    }
+}
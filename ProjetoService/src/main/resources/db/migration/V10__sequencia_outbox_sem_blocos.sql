@@ -0,0 +1,4 @@
+-- Com blocos de 50 por instância, um evento gravado depois podia receber ID menor que o de um
+-- evento anterior do mesmo projeto, e o despachante ordena por ID. De um em um, o nextval sai
+-- depois da trava na linha do projeto, que ordena as transações do mesmo projeto.
+ALTER SEQUENCE eventos_projeto_outbox_seq INCREMENT BY 1;
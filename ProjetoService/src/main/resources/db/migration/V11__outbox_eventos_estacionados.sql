@@ -0,0 +1,3 @@
+-- Eventos que o group-service recusou de vez (4xx) ou que esgotaram as tentativas ficam
+-- estacionados: saem do despacho e deixam de reter os eventos seguintes do mesmo projeto.
+ALTER TABLE eventos_projeto_outbox ADD COLUMN estacionado_em TIMESTAMP WITH TIME ZONE;
@@ -0,0 +1,15 @@
+-- Esquema inicial, equivalente ao que o Hibernate gerava com ddl-auto: update.
+-- Bancos já existentes recebem a baseline na versão 1 e não executam este script.
+CREATE TABLE projetos (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome                 VARCHAR(255)  NOT NULL,
+    objetivo             VARCHAR(255),
+    escopo_resumo        VARCHAR(1000),
+    publico_alvo         VARCHAR(255),
+    data_inicio          DATE,
+    status               VARCHAR(255)  NOT NULL,
+    professor_criador_id BIGINT,
+    grupo_id             BIGINT,
+    CONSTRAINT uk_projetos_nome UNIQUE (nome),
+    CONSTRAINT uk_projetos_grupo_id UNIQUE (grupo_id)
+);
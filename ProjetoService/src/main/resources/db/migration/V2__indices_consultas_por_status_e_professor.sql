@@ -0,0 +1,5 @@
+-- findByStatus e a paginação por status: filtro por status, ordenação por id.
+CREATE INDEX idx_projetos_status_id ON projetos (status, id);
+
+-- findByProfessorCriadorIdAndStatus, findByProfessorCriadorId e a paginação correspondente.
+CREATE INDEX idx_projetos_professor_status_id ON projetos (professor_criador_id, status, id);
@@ -0,0 +1,4 @@
+-- IDs passam a ser alocados pela sequência em blocos de 50 (otimizador pooled do Hibernate),
+-- o que permite agrupar os INSERTs em lotes JDBC. A coluna continua aceitando o default
+-- de identidade para inserções feitas fora da aplicação.
+CREATE SEQUENCE projetos_seq START WITH 1 INCREMENT BY 50;
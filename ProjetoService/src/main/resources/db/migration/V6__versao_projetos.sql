@@ -0,0 +1,2 @@
+-- Versão usada no bloqueio otimista (@Version) e incrementada pelas transições de status.
+ALTER TABLE projetos ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
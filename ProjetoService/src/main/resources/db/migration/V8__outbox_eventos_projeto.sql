@@ -0,0 +1,17 @@
+-- Outbox dos eventos enviados ao group-service. A linha é gravada na mesma transação da
+-- mudança no projeto e removida depois que o despachante recebe a confirmação do envio.
+CREATE SEQUENCE eventos_projeto_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE eventos_projeto_outbox (
+    id                    BIGINT PRIMARY KEY,
+    projeto_id            BIGINT                   NOT NULL,
+    tipo                  VARCHAR(40)              NOT NULL,
+    grupo_id              BIGINT,
+    criado_em             TIMESTAMP WITH TIME ZONE NOT NULL,
+    tentativas            INTEGER DEFAULT 0        NOT NULL,
+    proxima_tentativa_em  TIMESTAMP WITH TIME ZONE NOT NULL,
+    ultimo_erro           VARCHAR(500)
+);
+
+-- Usado para verificar se há evento anterior do mesmo projeto ainda aguardando nova tentativa.
+CREATE INDEX idx_eventos_projeto_outbox_projeto ON eventos_projeto_outbox (projeto_id, id);
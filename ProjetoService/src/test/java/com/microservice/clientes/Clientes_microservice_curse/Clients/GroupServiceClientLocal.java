@@ -0,0 +1,94 @@
+package com.microservice.clientes.Clientes_microservice_curse.Clients;
+
+import com.microservice.clientes.Clientes_microservice_curse.dto.EventoProjetoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.GroupDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Substituto em memória do group-service para testes, que registra quantas chamadas recebeu.
+ */
+public class GroupServiceClientLocal implements GroupServiceClient {
+
+    private final Map<Long, String> nomes = new ConcurrentHashMap<>();
+    private final AtomicInteger chamadasPorId = new AtomicInteger();
+    private final AtomicInteger chamadasEmLote = new AtomicInteger();
+    private final List<List<EventoProjetoDTO>> lotesEventos = new CopyOnWriteArrayList<>();
+    private final Set<Long> eventosRecusados = ConcurrentHashMap.newKeySet();
+    private volatile boolean indisponivel;
+    private volatile Runnable aoReceberEventos = () -> { };
+
+    public GroupServiceClientLocal comGrupo(Long id, String nome) {
+        nomes.put(id, nome);
+        return this;
+    }
+
+    @Override
+    public GroupDTO getGrupoById(Long id) {
+        chamadasPorId.incrementAndGet();
+        String nome = nomes.get(id);
+        if (nome == null) {
+            throw UserServiceClientLocal.naoEncontrado("/api/grupos/" + id);
+        }
+        return grupo(id, nome);
+    }
+
+    @Override
+    public List<GroupDTO> getGruposByIds(Collection<Long> ids) {
+        chamadasEmLote.incrementAndGet();
+        List<GroupDTO> grupos = new ArrayList<>();
+        for (Long id : ids) {
+            String nome = nomes.get(id);
+            if (nome != null) {
+                grupos.add(grupo(id, nome));
+            }
+        }
+        return grupos;
+    }
+
+    @Override
+    public void receberEventosProjetos(List<EventoProjetoDTO> eventos) {
+        aoReceberEventos.run();
+        if (indisponivel) {
+            throw UserServiceClientLocal.indisponivel("/api/grupos/eventos-projetos");
+        }
+        if (eventos.stream().anyMatch(evento -> eventosRecusados.contains(evento.getId()))) {
+            throw UserServiceClientLocal.requisicaoInvalida("/api/grupos/eventos-projetos");
+        }
+        lotesEventos.add(List.copyOf(eventos));
+    }
+
+    public GroupServiceClientLocal indisponivel(boolean indisponivel) {
+        this.indisponivel = indisponivel;
+        return this;
+    }
+
+    /** Faz o group-service responder 400 a qualquer lote que contenha o evento. */
+    public GroupServiceClientLocal recusandoEvento(Long eventoId) {
+        eventosRecusados.add(eventoId);
+        return this;
+    }
+
+    public GroupServiceClientLocal aoReceberEventos(Runnable acao) {
+        this.aoReceberEventos = acao;
+        return this;
+    }
+
+    public int getChamadasPorId() { return chamadasPorId.get(); }
+    public int getChamadasEmLote() { return chamadasEmLote.get(); }
+    public List<List<EventoProjetoDTO>> getLotesEventos() { return lotesEventos; }
+
+    private static GroupDTO grupo(Long id, String nome) {
+        GroupDTO grupo = new GroupDTO();
+        grupo.setId(id);
+        grupo.setNome(nome);
+        return grupo;
+    }
+}
@@ -0,0 +1,129 @@
+package com.microservice.clientes.Clientes_microservice_curse.Clients;
+
+import com.microservice.clientes.Clientes_microservice_curse.dto.UserDTO;
+import feign.FeignException;
+import feign.Request;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Substituto em memória do user-service para testes, que registra quantas chamadas recebeu.
+ */
+public class UserServiceClientLocal implements UserServiceClient {
+
+    private final Map<Long, String> nomes = new ConcurrentHashMap<>();
+    private final AtomicInteger chamadasPorId = new AtomicInteger();
+    private final AtomicInteger chamadasEmLote = new AtomicInteger();
+    private final Map<Long, AtomicInteger> consultasPorUsuario = new ConcurrentHashMap<>();
+    private volatile Duration atraso = Duration.ZERO;
+    private volatile Authentication ultimaAutenticacao;
+    private volatile boolean indisponivel;
+    private volatile Runnable aoBuscarEmLote = () -> { };
+
+    public UserServiceClientLocal comUsuario(Long id, String nome) {
+        nomes.put(id, nome);
+        return this;
+    }
+
+    public UserServiceClientLocal indisponivel(boolean indisponivel) {
+        this.indisponivel = indisponivel;
+        return this;
+    }
+
+    public UserServiceClientLocal aoBuscarEmLote(Runnable acao) {
+        this.aoBuscarEmLote = acao;
+        return this;
+    }
+
+    public UserServiceClientLocal comAtraso(Duration atraso) {
+        this.atraso = atraso;
+        return this;
+    }
+
+    @Override
+    public UserDTO getUsuarioById(Long id) {
+        chamadasPorId.incrementAndGet();
+        registrarConsulta(id);
+        String nome = nomes.get(id);
+        if (nome == null) {
+            throw naoEncontrado("/api/usuarios/" + id);
+        }
+        return usuario(id, nome);
+    }
+
+    @Override
+    public List<UserDTO> getUsuariosByIds(Collection<Long> ids) {
+        chamadasEmLote.incrementAndGet();
+        ultimaAutenticacao = SecurityContextHolder.getContext().getAuthentication();
+        aoBuscarEmLote.run();
+        aguardarAtraso();
+        if (indisponivel) {
+            throw indisponivel("/api/usuarios/lote");
+        }
+        List<UserDTO> usuarios = new ArrayList<>();
+        for (Long id : ids) {
+            registrarConsulta(id);
+            String nome = nomes.get(id);
+            if (nome != null) {
+                usuarios.add(usuario(id, nome));
+            }
+        }
+        return usuarios;
+    }
+
+    public int getChamadasPorId() { return chamadasPorId.get(); }
+    public int getChamadasEmLote() { return chamadasEmLote.get(); }
+    public Authentication getUltimaAutenticacao() { return ultimaAutenticacao; }
+
+    public Map<Long, Integer> getConsultasPorUsuario() {
+        Map<Long, Integer> consultas = new HashMap<>();
+        consultasPorUsuario.forEach((id, total) -> consultas.put(id, total.get()));
+        return consultas;
+    }
+
+    private void aguardarAtraso() {
+        if (atraso.isZero()) return;
+        try {
+            Thread.sleep(atraso.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void registrarConsulta(Long id) {
+        consultasPorUsuario.computeIfAbsent(id, chave -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private static UserDTO usuario(Long id, String nome) {
+        UserDTO usuario = new UserDTO();
+        usuario.setId(id);
+        usuario.setNome(nome);
+        return usuario;
+    }
+
+    static FeignException naoEncontrado(String url) {
+        return new FeignException.NotFound("Não encontrado", requisicao(url), null, Map.of());
+    }
+
+    static FeignException requisicaoInvalida(String url) {
+        return new FeignException.BadRequest("Requisição inválida", requisicao(url), null, Map.of());
+    }
+
+    static FeignException indisponivel(String url) {
+        return new FeignException.ServiceUnavailable("Serviço indisponível", requisicao(url), null, Map.of());
+    }
+
+    private static Request requisicao(String url) {
+        return Request.create(Request.HttpMethod.GET, url, Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+}
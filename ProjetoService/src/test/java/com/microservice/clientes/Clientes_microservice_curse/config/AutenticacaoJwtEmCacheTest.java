@@ -0,0 +1,106 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AutenticacaoJwtEmCacheTest {
+
+    private static final String SEGREDO = "aMinhaChaveSuperSecretaParaJWT32";
+
+    private final AtomicInteger decodificacoes = new AtomicInteger();
+    private AutenticacaoJwtEmCache autenticacao;
+
+    @BeforeEach
+    void setUp() {
+        SecurityConfig securityConfig = new SecurityConfig();
+        ReflectionTestUtils.setField(securityConfig, "jwtSecret", SEGREDO);
+        JwtDecoder decoder = securityConfig.jwtDecoder();
+        JwtDecoder decoderContado = token -> {
+            decodificacoes.incrementAndGet();
+            return decoder.decode(token);
+        };
+        autenticacao = new AutenticacaoJwtEmCache(decoderContado, securityConfig.jwtAuthenticationConverter(),
+                100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void mesmoTokenEhVerificadoUmaUnicaVez() throws Exception {
+        String token = token(42L, List.of("ROLE_PROFESSOR"), true);
+
+        autenticacao.authenticate(new BearerTokenAuthenticationToken(token));
+        Authentication resultado = autenticacao.authenticate(new BearerTokenAuthenticationToken(token));
+
+        assertThat(decodificacoes).hasValue(1);
+        assertThat(resultado).isInstanceOf(UsuarioJwtAuthenticationToken.class);
+        assertThat(resultado.isAuthenticated()).isTrue();
+        assertThat(resultado.getName()).isEqualTo("professor@exemplo.com");
+        UsuarioAutenticado usuario = ((UsuarioJwtAuthenticationToken) resultado).getUsuario();
+        assertThat(usuario.getUserId()).isEqualTo(42L);
+        assertThat(usuario.getRolePrincipal()).isEqualTo("ROLE_PROFESSOR");
+    }
+
+    @Test
+    void tokensDiferentesSaoVerificadosSeparadamente() throws Exception {
+        autenticacao.authenticate(new BearerTokenAuthenticationToken(token(1L, List.of("ROLE_ADMIN"), true)));
+        Authentication resultado = autenticacao.authenticate(
+                new BearerTokenAuthenticationToken(token(2L, List.of("ROLE_USER"), true)));
+
+        assertThat(decodificacoes).hasValue(2);
+        assertThat(((UsuarioJwtAuthenticationToken) resultado).getUsuario().getUserId()).isEqualTo(2L);
+    }
+
+    @Test
+    void tokenSemExpiracaoNaoEhGuardado() throws Exception {
+        String token = token(42L, List.of("ROLE_PROFESSOR"), false);
+
+        autenticacao.authenticate(new BearerTokenAuthenticationToken(token));
+        autenticacao.authenticate(new BearerTokenAuthenticationToken(token));
+
+        assertThat(decodificacoes).hasValue(2);
+    }
+
+    @Test
+    void assinaturaInvalidaEhRecusadaSemSerGuardada() throws Exception {
+        String token = token(42L, List.of("ROLE_PROFESSOR"), true);
+        String adulterado = token.substring(0, token.length() - 4) + "AAAA";
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> autenticacao.authenticate(new BearerTokenAuthenticationToken(adulterado)))
+                    .isInstanceOf(InvalidBearerTokenException.class);
+        }
+        assertThat(decodificacoes).hasValue(2);
+    }
+
+    private static String token(Long userId, List<String> roles, boolean comExpiracao) throws Exception {
+        JWTClaimsSet.Builder claims = new JWTClaimsSet.Builder()
+                .subject("professor@exemplo.com")
+                .claim("userId", userId)
+                .claim("roles", roles)
+                .issueTime(new Date());
+        if (comExpiracao) {
+            claims.expirationTime(new Date(System.currentTimeMillis() + 3_600_000));
+        }
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims.build());
+        jwt.sign(new MACSigner(SEGREDO.getBytes(StandardCharsets.UTF_8)));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,54 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.ConfigBuilder;
+
+import java.util.function.Function;
+
+/**
+ * Fábrica de disjuntores para testes que executa as chamadas na própria thread, sem o
+ * limitador de tempo do Spring Cloud, assim como a configuração da aplicação.
+ */
+public class CircuitBreakerFactoryLocal extends CircuitBreakerFactory<CircuitBreakerConfig, ConfigBuilder<CircuitBreakerConfig>> {
+
+    private final CircuitBreakerRegistry registry;
+
+    public CircuitBreakerFactoryLocal() {
+        this(CircuitBreakerRegistry.ofDefaults());
+    }
+
+    public CircuitBreakerFactoryLocal(CircuitBreakerRegistry registry) {
+        this.registry = registry;
+    }
+
+    public CircuitBreakerRegistry getRegistry() {
+        return registry;
+    }
+
+    @Override
+    public CircuitBreaker create(String id) {
+        io.github.resilience4j.circuitbreaker.CircuitBreaker disjuntor = registry.circuitBreaker(id);
+        return new CircuitBreaker() {
+            @Override
+            public <T> T run(java.util.function.Supplier<T> chamada, Function<Throwable, T> fallback) {
+                try {
+                    return disjuntor.executeSupplier(chamada);
+                } catch (Throwable falha) {
+                    return fallback.apply(falha);
+                }
+            }
+        };
+    }
+
+    @Override
+    protected ConfigBuilder<CircuitBreakerConfig> configBuilder(String id) {
+        return registry::getDefaultConfig;
+    }
+
+    @Override
+    public void configureDefault(Function<String, CircuitBreakerConfig> configuracaoPadrao) {
+    }
+}
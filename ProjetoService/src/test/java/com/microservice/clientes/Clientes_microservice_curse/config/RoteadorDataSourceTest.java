@@ -0,0 +1,193 @@
+package com.microservice.clientes.Clientes_microservice_curse.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.microservice.clientes.Clientes_microservice_curse.event.CacheProjetosInvalidadoEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Usa bancos H2 em memória distintos como primário e réplicas; cada um responde à consulta
+ * {@code select nome from origem} com o próprio nome.
+ */
+class RoteadorDataSourceTest {
+
+    private final RoteamentoDataSourceProperties propriedades = new RoteamentoDataSourceProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong relogio = new AtomicLong();
+    private final List<HikariDataSource> bancos = new ArrayList<>();
+    private HikariDataSource primario;
+    private ReplicasLeitura replicas;
+    private RoteadorDataSource roteador;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate leitura;
+    private TransactionTemplate escrita;
+
+    @BeforeEach
+    void setUp() {
+        primario = criarBanco("primario");
+        propriedades.setConsultaAtraso("select atraso from estado_replicacao");
+        propriedades.setAtrasoMaximo(Duration.ofSeconds(5));
+        propriedades.setLeituraPropriaEscrita(Duration.ofSeconds(5));
+        propriedades.setReplicas(List.of(replica("replica-1"), replica("replica-2")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (replicas != null) replicas.destroy();
+        bancos.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void leiturasVaoParaAsReplicasEmRodizioEEscritasParaOPrimario() {
+        iniciarRoteador();
+
+        assertThat(List.of(lerEmTransacao(leitura), lerEmTransacao(leitura), lerEmTransacao(leitura)))
+                .containsExactly("replica-1", "replica-2", "replica-1");
+        assertThat(lerEmTransacao(escrita)).isEqualTo("primario");
+        assertThat(jdbcTemplate.queryForObject("select nome from origem", String.class)).isEqualTo("primario");
+        assertThat(meterRegistry.get("projetos.datasource.conexoes").tag("motivo", "leitura").counters())
+                .hasSize(2);
+    }
+
+    @Test
+    void quemEscreveuLeDoPrimarioDuranteAJanela() {
+        iniciarRoteador();
+        autenticar("professor");
+        lerEmTransacao(escrita);
+
+        assertThat(lerEmTransacao(leitura)).isEqualTo("primario");
+        autenticar("outro");
+        assertThat(lerEmTransacao(leitura)).startsWith("replica");
+
+        autenticar("professor");
+        relogio.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertThat(lerEmTransacao(leitura)).startsWith("replica");
+    }
+
+    @Test
+    void replicaAtrasadaOuForaDoArSaiDoRoteamento() {
+        iniciarRoteador();
+        atualizarAtraso("replica-1", 30);
+        replicas.verificarAtraso();
+
+        assertThat(List.of(lerEmTransacao(leitura), lerEmTransacao(leitura))).containsOnly("replica-2");
+        assertThat(meterRegistry.get("projetos.datasource.replica.disponivel").tag("replica", "replica-1").gauge().value())
+                .isZero();
+
+        replicas.dataSource("replica-2").close();
+        replicas.verificarAtraso();
+        assertThat(lerEmTransacao(leitura)).isEqualTo("primario");
+
+        atualizarAtraso("replica-1", 0);
+        replicas.verificarAtraso();
+        assertThat(lerEmTransacao(leitura)).isEqualTo("replica-1");
+    }
+
+    @Test
+    void menosConexoesEscolheAReplicaMenosOcupada() throws Exception {
+        propriedades.setEstrategia(RoteamentoDataSourceProperties.Estrategia.MENOS_CONEXOES);
+        iniciarRoteador();
+
+        Connection ocupada = replicas.dataSource("replica-1").getConnection();
+        try {
+            assertThat(List.of(lerEmTransacao(leitura), lerEmTransacao(leitura))).containsOnly("replica-2");
+        } finally {
+            ocupada.close();
+        }
+    }
+
+    @Test
+    void replicaQueRecusaConexaoEntreVerificacoesCedeAoPrimario() {
+        iniciarRoteador();
+
+        replicas.dataSource("replica-1").close();
+
+        assertThat(List.of(lerEmTransacao(leitura), lerEmTransacao(leitura), lerEmTransacao(leitura)))
+                .containsExactly("primario", "replica-2", "replica-2");
+        assertThat(meterRegistry.get("projetos.datasource.conexoes").tag("motivo", "falha-replica").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void invalidacaoDoCacheLevaAsLeiturasAoPrimarioPeloAtrasoMaximo() {
+        iniciarRoteador();
+
+        roteador.aoInvalidarCache(new CacheProjetosInvalidadoEvent(1, true));
+
+        assertThat(lerEmTransacao(leitura)).isEqualTo("primario");
+        relogio.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertThat(lerEmTransacao(leitura)).isEqualTo("primario");
+        relogio.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertThat(lerEmTransacao(leitura)).isEqualTo("replica-1");
+        assertThat(meterRegistry.get("projetos.datasource.conexoes").tag("motivo", "cache-invalidado").counter().count())
+                .isEqualTo(2);
+    }
+
+    private void iniciarRoteador() {
+        replicas = new ReplicasLeitura(propriedades, meterRegistry);
+        replicas.verificarAtraso();
+        roteador = new RoteadorDataSource(primario, replicas, propriedades, meterRegistry, relogio::get);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(roteador);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        escrita = new TransactionTemplate(transactionManager);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+    }
+
+    private String lerEmTransacao(TransactionTemplate transacao) {
+        return transacao.execute(status -> jdbcTemplate.queryForObject("select nome from origem", String.class));
+    }
+
+    private void autenticar(String usuario) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(usuario, null, "ROLE_PROFESSOR"));
+    }
+
+    private void atualizarAtraso(String replica, double segundos) {
+        new JdbcTemplate(bancos.stream().filter(banco -> banco.getPoolName().equals(replica)).findFirst().orElseThrow())
+                .update("update estado_replicacao set atraso = ?", segundos);
+    }
+
+    private RoteamentoDataSourceProperties.Replica replica(String nome) {
+        HikariDataSource banco = criarBanco(nome);
+        new JdbcTemplate(banco).execute("create table estado_replicacao (atraso double precision)");
+        new JdbcTemplate(banco).update("insert into estado_replicacao values (0)");
+        RoteamentoDataSourceProperties.Replica replica = new RoteamentoDataSourceProperties.Replica();
+        replica.setNome(nome);
+        replica.setUrl(banco.getJdbcUrl());
+        replica.setUsername("sa");
+        replica.setPassword("");
+        return replica;
+    }
+
+    private HikariDataSource criarBanco(String nome) {
+        HikariDataSource banco = new HikariDataSource();
+        banco.setPoolName(nome);
+        banco.setJdbcUrl("jdbc:h2:mem:roteamento-" + nome + ";DB_CLOSE_DELAY=-1");
+        banco.setUsername("sa");
+        banco.setPassword("");
+        JdbcTemplate jdbc = new JdbcTemplate(banco);
+        jdbc.execute("drop all objects");
+        jdbc.execute("create table origem (nome varchar(20))");
+        jdbc.update("insert into origem values (?)", nome);
+        bancos.add(banco);
+        return banco;
+    }
+}
@@ -0,0 +1,179 @@
+package com.microservice.clientes.Clientes_microservice_curse.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.clientes.Clientes_microservice_curse.Clients.GroupServiceClientLocal;
+import com.microservice.clientes.Clientes_microservice_curse.Clients.UserServiceClientLocal;
+import com.microservice.clientes.Clientes_microservice_curse.config.CircuitBreakerFactoryLocal;
+import com.microservice.clientes.Clientes_microservice_curse.config.EnriquecimentoProperties;
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.model.ProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.repository.ProjetoRepository;
+import com.microservice.clientes.Clientes_microservice_curse.service.EnriquecimentoProjetoService;
+import com.microservice.clientes.Clientes_microservice_curse.service.GestaoProjetoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ProjetoControllerEtagTest {
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UserServiceClientLocal userServiceClient;
+    private EnriquecimentoProjetoService enriquecimentoProjetoService;
+    private GestaoProjetoService gestaoProjetoService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        userServiceClient = new UserServiceClientLocal();
+        userServiceClient.comUsuario(7L, "Professor 7");
+        enriquecimentoProjetoService = new EnriquecimentoProjetoService(userServiceClient, new GroupServiceClientLocal(),
+                new EnriquecimentoProperties(), new CircuitBreakerFactoryLocal(), new SimpleMeterRegistry());
+        gestaoProjetoService = new GestaoProjetoService(projetoRepository, enriquecimentoProjetoService,
+                entityManager, new ObjectMapper(), evento -> { }, null, null);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProjetoController(gestaoProjetoService, null, null, null)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        enriquecimentoProjetoService.destroy();
+    }
+
+    @Test
+    void projetoSemAlteracaoRespondeNaoModificadoSemEnriquecer() throws Exception {
+        Long id = salvar("A");
+        String etag = mockMvc.perform(get("/api/projetos/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/projetos/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        assertThat(userServiceClient.getChamadasEmLote()).isEqualTo(1);
+    }
+
+    @Test
+    void nomeIndisponivelPorFalhaDoServicoLevaEtagFracoQueNaoSobreviveARecuperacao() throws Exception {
+        Long id = salvar("A");
+        userServiceClient.indisponivel(true);
+
+        String etag = mockMvc.perform(get("/api/projetos/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/").endsWith("-indisponivel\"");
+        assertThat(mockMvc.perform(get("/api/projetos/{id}", id)).andReturn().getResponse()
+                .getHeaders(HttpHeaders.ETAG)).containsExactly(etag);
+        assertThat(mockMvc.perform(get("/api/projetos/listar-projetos"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG)).startsWith("W/");
+        assertThat(mockMvc.perform(get("/api/projetos/listar-projetos").param("limit", "1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG)).startsWith("W/");
+
+        userServiceClient.indisponivel(false);
+        mockMvc.perform(get("/api/projetos/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(startsWith("W/"))));
+    }
+
+    @Test
+    void professorInexistenteMantemOEtagForte() throws Exception {
+        Long id = salvar("A", 99L);
+
+        mockMvc.perform(get("/api/projetos/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(startsWith("W/"))));
+    }
+
+    @Test
+    void alteracaoDoProjetoMudaOEtag() throws Exception {
+        Long id = salvar("A");
+        String etag = mockMvc.perform(get("/api/projetos/{id}", id)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        gestaoProjetoService.aprovarProjeto(id);
+
+        mockMvc.perform(get("/api/projetos/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void listagemFiltradaMudaDeVersaoQuandoUmProjetoEntraOuSaiDoFiltro() throws Exception {
+        Long id = salvar("A");
+        salvar("B");
+        String etag = mockMvc.perform(get("/api/projetos/listar-projetos").param("status", "EM_ANALISE"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/projetos/listar-projetos").param("status", "EM_ANALISE").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        gestaoProjetoService.aprovarProjeto(id);
+
+        mockMvc.perform(get("/api/projetos/listar-projetos").param("status", "EM_ANALISE").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void paginaSoMudaDeVersaoComAlteracoesNasPropriasLinhas() throws Exception {
+        Long a = salvar("A");
+        salvar("B");
+        Long c = salvar("C");
+        String etag = mockMvc.perform(get("/api/projetos/listar-projetos").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        gestaoProjetoService.aprovarProjeto(c);
+
+        mockMvc.perform(get("/api/projetos/listar-projetos").param("limit", "1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        gestaoProjetoService.aprovarProjeto(a);
+
+        mockMvc.perform(get("/api/projetos/listar-projetos").param("limit", "1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void cursorInvalidoNuncaRespondeNaoModificado() throws Exception {
+        salvar("A");
+
+        mockMvc.perform(get("/api/projetos/listar-projetos").param("cursor", "%%%").header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/projetos/listar-projetos").param("limit", "0").header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long salvar(String nome) {
+        return salvar(nome, 7L);
+    }
+
+    private Long salvar(String nome, Long professorId) {
+        ProjetoModel projeto = new ProjetoModel(nome, null, null, null, null, professorId);
+        projeto.setStatus(StatusProjetoModel.EM_ANALISE);
+        return projetoRepository.saveAndFlush(projeto).getId();
+    }
+}
@@ -0,0 +1,113 @@
+package com.microservice.clientes.Clientes_microservice_curse.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.clientes.Clientes_microservice_curse.Clients.GroupServiceClientLocal;
+import com.microservice.clientes.Clientes_microservice_curse.Clients.UserServiceClientLocal;
+import com.microservice.clientes.Clientes_microservice_curse.config.CircuitBreakerFactoryLocal;
+import com.microservice.clientes.Clientes_microservice_curse.config.EnriquecimentoProperties;
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.model.ProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.repository.ProjetoRepository;
+import com.microservice.clientes.Clientes_microservice_curse.service.EnriquecimentoProjetoService;
+import com.microservice.clientes.Clientes_microservice_curse.service.GestaoProjetoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.sql.Date;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ProjetoControllerListagemTest {
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private EnriquecimentoProjetoService enriquecimentoProjetoService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        UserServiceClientLocal userServiceClient = new UserServiceClientLocal();
+        userServiceClient.comUsuario(7L, "Professor 7");
+        enriquecimentoProjetoService = new EnriquecimentoProjetoService(userServiceClient, new GroupServiceClientLocal(),
+                new EnriquecimentoProperties(), new CircuitBreakerFactoryLocal(), new SimpleMeterRegistry());
+        GestaoProjetoService gestaoProjetoService = new GestaoProjetoService(projetoRepository, enriquecimentoProjetoService,
+                entityManager, new ObjectMapper(), evento -> { }, null, null);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProjetoController(gestaoProjetoService, null, null, null)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        enriquecimentoProjetoService.destroy();
+    }
+
+    @Test
+    void resumoTrazSomenteOsCamposDaListagem() throws Exception {
+        Long id = salvar("A", 7L);
+        salvar("B", 8L);
+
+        mockMvc.perform(get("/api/projetos/listar-projetos").param("resumo", "true").param("professorId", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(id))
+                .andExpect(jsonPath("$[0].nome").value("A"))
+                .andExpect(jsonPath("$[0].status").value("EM_ANALISE"))
+                .andExpect(jsonPath("$[0].dataInicio").exists())
+                .andExpect(jsonPath("$[0].professorCriadorId").value(7))
+                .andExpect(jsonPath("$[0].nomeProfessorCriador").value("Professor 7"))
+                .andExpect(jsonPath("$[0].objetivo").doesNotExist())
+                .andExpect(jsonPath("$[0].escopoResumo").doesNotExist())
+                .andExpect(jsonPath("$[0].publicoAlvo").doesNotExist());
+
+        mockMvc.perform(get("/api/projetos/listar-projetos").param("professorId", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].objetivo").value("Objetivo de A"))
+                .andExpect(jsonPath("$[0].publicoAlvo").value("Público de A"));
+    }
+
+    @Test
+    void resumoPaginadoUsaAMesmaProjecao() throws Exception {
+        salvar("A", 7L);
+        salvar("B", 7L);
+
+        mockMvc.perform(get("/api/projetos/listar-projetos").param("resumo", "true").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(1))
+                .andExpect(jsonPath("$.itens[0].nome").value("A"))
+                .andExpect(jsonPath("$.itens[0].nomeProfessorCriador").value("Professor 7"))
+                .andExpect(jsonPath("$.itens[0].objetivo").doesNotExist())
+                .andExpect(jsonPath("$.proximoCursor").isNotEmpty());
+    }
+
+    private Long salvar(String nome, Long professorId) {
+        ProjetoModel projeto = new ProjetoModel(nome, "Objetivo de " + nome, "Escopo de " + nome, "Público de " + nome,
+                Date.valueOf("2025-03-01"), professorId);
+        projeto.setStatus(StatusProjetoModel.EM_ANALISE);
+        return projetoRepository.saveAndFlush(projeto).getId();
+    }
+
+    @Test
+    void buscaTextualForaDoPostgresqlRespondeNaoImplementado() throws Exception {
+        mockMvc.perform(get("/api/projetos/buscar").param("q", "robótica"))
+                .andExpect(status().isNotImplemented())
+                .andExpect(jsonPath("$.error").value("Busca textual disponível apenas com PostgreSQL."));
+    }
+}
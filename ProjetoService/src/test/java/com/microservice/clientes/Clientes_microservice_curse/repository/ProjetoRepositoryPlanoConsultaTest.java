@@ -0,0 +1,68 @@
+package com.microservice.clientes.Clientes_microservice_curse.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Aplica as migrações num H2 em memória e confere que as consultas mais frequentes usam os
+ * índices criados, falhando caso voltem a varrer a tabela inteira.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ProjetoRepositoryPlanoConsultaTest {
+
+    private static final String VARREDURA_COMPLETA = "tableScan";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        String[] status = {"EM_ANALISE", "RECUSADO", "EM_ANDAMENTO", "FINALIZADO"};
+        for (int i = 0; i < 200; i++) {
+            jdbcTemplate.update("INSERT INTO projetos (nome, status, professor_criador_id) VALUES (?, ?, ?)",
+                    "Projeto " + i, status[i % status.length], (long) (i % 20));
+        }
+    }
+
+    @Test
+    void buscaPorStatusUsaIndiceDeStatus() {
+        String plano = plano("SELECT id, nome FROM projetos WHERE status = 'EM_ANALISE' ORDER BY id");
+
+        assertThat(plano).containsIgnoringCase("IDX_PROJETOS_STATUS_ID").doesNotContain(VARREDURA_COMPLETA);
+    }
+
+    @Test
+    void paginaPorStatusUsaIndiceDeStatus() {
+        String plano = plano("SELECT id, nome FROM projetos WHERE status = 'EM_ANALISE' AND id > 40 ORDER BY id FETCH FIRST 11 ROWS ONLY");
+
+        assertThat(plano).containsIgnoringCase("IDX_PROJETOS_STATUS_ID").doesNotContain(VARREDURA_COMPLETA);
+    }
+
+    @Test
+    void buscaPorProfessorEStatusUsaIndiceComposto() {
+        String plano = plano("SELECT id, nome FROM projetos WHERE professor_criador_id = 3 AND status = 'EM_ANDAMENTO'");
+
+        assertThat(plano).containsIgnoringCase("IDX_PROJETOS_PROFESSOR_STATUS_ID").doesNotContain(VARREDURA_COMPLETA);
+    }
+
+    @Test
+    void buscaPorProfessorUsaPrefixoDoIndiceComposto() {
+        String plano = plano("SELECT id, nome FROM projetos WHERE professor_criador_id = 3 AND id > 0 ORDER BY id");
+
+        assertThat(plano).containsIgnoringCase("IDX_PROJETOS_PROFESSOR_STATUS_ID").doesNotContain(VARREDURA_COMPLETA);
+    }
+
+    private String plano(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
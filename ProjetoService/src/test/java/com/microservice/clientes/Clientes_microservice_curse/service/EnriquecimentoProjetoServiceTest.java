@@ -0,0 +1,274 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import com.microservice.clientes.Clientes_microservice_curse.Clients.GroupServiceClientLocal;
+import com.microservice.clientes.Clientes_microservice_curse.Clients.UserServiceClientLocal;
+import com.microservice.clientes.Clientes_microservice_curse.config.CircuitBreakerFactoryLocal;
+import com.microservice.clientes.Clientes_microservice_curse.config.EnriquecimentoProperties;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ProjetoDTO;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnriquecimentoProjetoServiceTest {
+
+    private UserServiceClientLocal userServiceClient;
+    private GroupServiceClientLocal groupServiceClient;
+    private EnriquecimentoProperties propriedades;
+    private MeterRegistry meterRegistry;
+    private CircuitBreakerFactoryLocal circuitBreakerFactory;
+    private EnriquecimentoProjetoService enriquecimentoProjetoService;
+
+    @BeforeEach
+    void setUp() {
+        userServiceClient = new UserServiceClientLocal();
+        groupServiceClient = new GroupServiceClientLocal();
+        for (long id = 1; id <= 10; id++) {
+            userServiceClient.comUsuario(id, "Professor " + id);
+            groupServiceClient.comGrupo(id, "Grupo " + id);
+        }
+        propriedades = new EnriquecimentoProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreakerFactory = new CircuitBreakerFactoryLocal();
+        enriquecimentoProjetoService = novoServico();
+    }
+
+    @AfterEach
+    void tearDown() {
+        enriquecimentoProjetoService.destroy();
+        SecurityContextHolder.clearContext();
+    }
+
+    private EnriquecimentoProjetoService novoServico() {
+        return new EnriquecimentoProjetoService(userServiceClient, groupServiceClient, propriedades,
+                circuitBreakerFactory, meterRegistry);
+    }
+
+    @Test
+    void resolveCadaIdDistintoUmaUnicaVez() {
+        List<ProjetoDTO> projetos = new ArrayList<>();
+        for (long i = 0; i < 2000; i++) {
+            projetos.add(projeto(i, i % 10 + 1, i % 10 + 1));
+        }
+
+        enriquecimentoProjetoService.enriquecer(projetos);
+
+        assertThat(userServiceClient.getChamadasEmLote()).isEqualTo(1);
+        assertThat(groupServiceClient.getChamadasEmLote()).isEqualTo(1);
+        assertThat(userServiceClient.getChamadasPorId()).isZero();
+        assertThat(userServiceClient.getConsultasPorUsuario()).hasSize(10).allSatisfy((id, total) -> assertThat(total).isEqualTo(1));
+        assertThat(projetos.get(0).getNomeProfessorCriador()).isEqualTo("Professor 1");
+        assertThat(projetos.get(1999).getNomeGrupo()).isEqualTo("Grupo 10");
+        assertThat(meterRegistry.get("projetos.enriquecimento.linhas").summary().totalAmount()).isEqualTo(2000);
+        assertThat(meterRegistry.get("projetos.clientes.chamadas").tag("servico", "user-service")
+                .tag("resultado", "sucesso").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void divideIdsEmLotesDoTamanhoConfigurado() {
+        propriedades.setTamanhoLote(3);
+        enriquecimentoProjetoService.destroy();
+        enriquecimentoProjetoService = novoServico();
+        List<ProjetoDTO> projetos = new ArrayList<>();
+        for (long i = 1; i <= 10; i++) {
+            projetos.add(projeto(i, i, null));
+        }
+
+        enriquecimentoProjetoService.enriquecer(projetos);
+
+        assertThat(userServiceClient.getChamadasEmLote()).isEqualTo(4);
+        assertThat(groupServiceClient.getChamadasEmLote()).isZero();
+        assertThat(projetos).extracting(ProjetoDTO::getNomeGrupo).containsOnlyNulls();
+    }
+
+    @Test
+    void idsInexistentesRecebemNomeDeIndisponibilidade() {
+        List<ProjetoDTO> projetos = List.of(projeto(1L, 99L, 98L));
+
+        enriquecimentoProjetoService.enriquecer(projetos);
+
+        assertThat(projetos.get(0).getNomeProfessorCriador()).isEqualTo(EnriquecimentoProjetoService.PROFESSOR_INDISPONIVEL);
+        assertThat(projetos.get(0).getNomeGrupo()).isEqualTo(EnriquecimentoProjetoService.GRUPO_INDISPONIVEL);
+    }
+
+    @Test
+    void nomesJaResolvidosSaoServidosPeloCache() {
+        enriquecimentoProjetoService.enriquecer(List.of(projeto(1L, 1L, 1L), projeto(2L, 2L, null)));
+        List<ProjetoDTO> segundaConsulta = List.of(projeto(3L, 1L, 1L), projeto(4L, 2L, null));
+
+        enriquecimentoProjetoService.enriquecer(segundaConsulta);
+
+        assertThat(userServiceClient.getChamadasEmLote()).isEqualTo(1);
+        assertThat(groupServiceClient.getChamadasEmLote()).isEqualTo(1);
+        assertThat(segundaConsulta).extracting(ProjetoDTO::getNomeProfessorCriador).containsExactly("Professor 1", "Professor 2");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "nomes.user-service").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void idsInexistentesTambemSaoLembradosPeloCache() {
+        enriquecimentoProjetoService.enriquecer(List.of(projeto(1L, 99L, null)));
+        enriquecimentoProjetoService.enriquecer(List.of(projeto(2L, 99L, null)));
+
+        assertThat(userServiceClient.getChamadasEmLote()).isEqualTo(1);
+    }
+
+    @Test
+    void propagaContextoDeSegurancaParaAsThreadsDeConsulta() {
+        TestingAuthenticationToken autenticacao = new TestingAuthenticationToken("professor", "token");
+        SecurityContextHolder.getContext().setAuthentication(autenticacao);
+
+        enriquecimentoProjetoService.enriquecer(List.of(projeto(1L, 1L, null)));
+
+        assertThat(userServiceClient.getUltimaAutenticacao()).isSameAs(autenticacao);
+    }
+
+    @Test
+    void prazoEsgotadoUsaNomeDeIndisponibilidade() {
+        propriedades.setPrazo(Duration.ofMillis(50));
+        enriquecimentoProjetoService.destroy();
+        enriquecimentoProjetoService = novoServico();
+        userServiceClient.comAtraso(Duration.ofSeconds(2));
+        List<ProjetoDTO> projetos = List.of(projeto(1L, 1L, 1L));
+
+        long inicio = System.nanoTime();
+        enriquecimentoProjetoService.enriquecer(projetos);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofSeconds(1));
+        assertThat(projetos.get(0).getNomeProfessorCriador()).isEqualTo(EnriquecimentoProjetoService.PROFESSOR_INDISPONIVEL);
+        assertThat(projetos.get(0).getNomeGrupo()).isEqualTo("Grupo 1");
+    }
+
+    @Test
+    void loteRecusadoPeloPoolFicaIndisponivelSemRodarNaThreadDaRequisicao() throws Exception {
+        propriedades.setThreads(1);
+        propriedades.setCapacidadeFila(0);
+        propriedades.setPrazo(Duration.ofMillis(100));
+        enriquecimentoProjetoService.destroy();
+        enriquecimentoProjetoService = novoServico();
+        userServiceClient.comAtraso(Duration.ofMillis(500));
+        List<ProjetoDTO> projetos = List.of(projeto(1L, 1L, 1L));
+
+        long inicio = System.nanoTime();
+        enriquecimentoProjetoService.enriquecer(projetos);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofMillis(400));
+        assertThat(projetos.get(0).getNomeGrupo()).isEqualTo(EnriquecimentoProjetoService.GRUPO_INDISPONIVEL);
+        assertThat(groupServiceClient.getChamadasEmLote()).isZero();
+        assertThat(meterRegistry.get("projetos.clientes.lotes.recusados").tag("servico", "group-service")
+                .counter().count()).isEqualTo(1);
+
+        // A reserva do lote recusado foi liberada: com o pool livre, o ID volta a ser buscado.
+        Thread.sleep(600);
+        List<ProjetoDTO> depois = List.of(projeto(2L, null, 1L));
+        enriquecimentoProjetoService.enriquecer(depois);
+        assertThat(depois.get(0).getNomeGrupo()).isEqualTo("Grupo 1");
+    }
+
+    @Test
+    void prazoEsgotadoMantemNomesJaResolvidos() {
+        propriedades.setPrazo(Duration.ofMillis(200));
+        enriquecimentoProjetoService.destroy();
+        enriquecimentoProjetoService = novoServico();
+        enriquecimentoProjetoService.enriquecer(List.of(projeto(1L, 1L, null)));
+        userServiceClient.comAtraso(Duration.ofSeconds(2));
+        List<ProjetoDTO> projetos = List.of(projeto(2L, 1L, null), projeto(3L, 2L, null));
+
+        enriquecimentoProjetoService.enriquecer(projetos);
+
+        assertThat(projetos.get(0).getNomeProfessorCriador()).isEqualTo("Professor 1");
+        assertThat(projetos.get(1).getNomeProfessorCriador()).isEqualTo(EnriquecimentoProjetoService.PROFESSOR_INDISPONIVEL);
+    }
+
+    @Test
+    void disjuntorAbertoFalhaSemChamarOServico() {
+        circuitBreakerFactory = new CircuitBreakerFactoryLocal(CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50)
+                .build()));
+        enriquecimentoProjetoService.destroy();
+        enriquecimentoProjetoService = novoServico();
+        userServiceClient.indisponivel(true);
+
+        enriquecimentoProjetoService.enriquecer(List.of(projeto(1L, 1L, null)));
+        enriquecimentoProjetoService.enriquecer(List.of(projeto(2L, 2L, null)));
+        List<ProjetoDTO> comDisjuntorAberto = List.of(projeto(3L, 3L, null));
+        enriquecimentoProjetoService.enriquecer(comDisjuntorAberto);
+
+        assertThat(circuitBreakerFactory.getRegistry().circuitBreaker("user-service").getState())
+                .isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(userServiceClient.getChamadasEmLote()).isEqualTo(2);
+        assertThat(comDisjuntorAberto.get(0).getNomeProfessorCriador()).isEqualTo(EnriquecimentoProjetoService.PROFESSOR_INDISPONIVEL);
+        assertThat(meterRegistry.get("projetos.clientes.chamadas").tag("servico", "user-service")
+                .tag("resultado", "FeignException").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("projetos.clientes.chamadas").tag("servico", "user-service")
+                .tag("resultado", "fallback").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void requisicoesSimultaneasPeloMesmoIdCompartilhamUmaUnicaBusca() throws Exception {
+        propriedades.getLimite().setInicial(200);
+        enriquecimentoProjetoService.destroy();
+        enriquecimentoProjetoService = novoServico();
+        for (long id = 11; id <= 200; id++) {
+            userServiceClient.comUsuario(id, "Professor " + id);
+        }
+        userServiceClient.comAtraso(Duration.ofMillis(20));
+        int requisicoes = 64;
+        ExecutorService clientes = Executors.newFixedThreadPool(requisicoes);
+        CyclicBarrier largada = new CyclicBarrier(requisicoes);
+        List<Future<List<ProjetoDTO>>> resultados = new ArrayList<>();
+        for (int r = 0; r < requisicoes; r++) {
+            long deslocamento = r * 3L;
+            resultados.add(clientes.submit(() -> {
+                List<ProjetoDTO> projetos = new ArrayList<>();
+                for (long i = 0; i < 200; i++) {
+                    projetos.add(projeto(i, (i + deslocamento) % 200 + 1, null));
+                }
+                largada.await();
+                enriquecimentoProjetoService.enriquecer(projetos);
+                return projetos;
+            }));
+        }
+
+        try {
+            for (Future<List<ProjetoDTO>> resultado : resultados) {
+                assertThat(resultado.get(10, TimeUnit.SECONDS)).allSatisfy(projeto ->
+                        assertThat(projeto.getNomeProfessorCriador()).isEqualTo("Professor " + projeto.getProfessorCriadorId()));
+            }
+        } finally {
+            clientes.shutdownNow();
+        }
+        assertThat(userServiceClient.getConsultasPorUsuario()).hasSize(200)
+                .allSatisfy((id, total) -> assertThat(total).isEqualTo(1));
+        assertThat(meterRegistry.get("projetos.clientes.coalescidas").tag("servico", "user-service")
+                .counter().count()).isPositive();
+    }
+
+    private static ProjetoDTO projeto(Long id, Long professorId, Long grupoId) {
+        ProjetoDTO projeto = new ProjetoDTO();
+        projeto.setId(id);
+        projeto.setNome("Projeto " + id);
+        projeto.setProfessorCriadorId(professorId);
+        projeto.setGrupoId(grupoId);
+        return projeto;
+    }
+}
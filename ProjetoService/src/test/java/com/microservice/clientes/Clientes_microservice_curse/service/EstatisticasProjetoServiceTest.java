@@ -0,0 +1,156 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import com.microservice.clientes.Clientes_microservice_curse.dto.ContagemProjetosDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.EstatisticasProjetosDTO;
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.event.CacheProjetosInvalidadoEvent;
+import com.microservice.clientes.Clientes_microservice_curse.event.ProjetoAlteradoEvent;
+import com.microservice.clientes.Clientes_microservice_curse.model.ProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.repository.ProjetoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class EstatisticasProjetoServiceTest {
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    private MeterRegistry meterRegistry;
+    private EstatisticasProjetoService estatisticasProjetoService;
+
+    @BeforeEach
+    void setUp() {
+        salvar("A", 1L, StatusProjetoModel.EM_ANALISE);
+        salvar("B", 1L, StatusProjetoModel.EM_ANDAMENTO);
+        salvar("C", 2L, StatusProjetoModel.EM_ANALISE);
+        meterRegistry = new SimpleMeterRegistry();
+        estatisticasProjetoService = new EstatisticasProjetoService(projetoRepository, meterRegistry, false, Duration.ZERO);
+        estatisticasProjetoService.inicializar();
+    }
+
+    @Test
+    void contagemInicialVemDoBanco() {
+        EstatisticasProjetosDTO estatisticas = estatisticasProjetoService.obter(null);
+
+        assertThat(estatisticas.getTotal()).isEqualTo(3);
+        assertThat(estatisticas.getPorStatus()).containsEntry(StatusProjetoModel.EM_ANALISE, 2L)
+                .containsEntry(StatusProjetoModel.FINALIZADO, 0L);
+        assertThat(estatisticas.getPorProfessor().get(1L)).containsEntry(StatusProjetoModel.EM_ANDAMENTO, 1L);
+    }
+
+    @Test
+    void eventosAjustamOsContadoresSemConsultarOBanco() {
+        estatisticasProjetoService.aoAlterarProjeto(new ProjetoAlteradoEvent(10L, 2L,
+                StatusProjetoModel.EM_ANALISE, StatusProjetoModel.EM_ANDAMENTO));
+        estatisticasProjetoService.aoAlterarProjeto(ProjetoAlteradoEvent.criado(11L, 3L, StatusProjetoModel.EM_ANALISE));
+        estatisticasProjetoService.aoAlterarProjeto(ProjetoAlteradoEvent.removido(12L, 1L, StatusProjetoModel.EM_ANALISE));
+
+        EstatisticasProjetosDTO doProfessor = estatisticasProjetoService.obter(2L);
+        assertThat(doProfessor.getTotal()).isEqualTo(1);
+        assertThat(doProfessor.getPorStatus()).containsEntry(StatusProjetoModel.EM_ANDAMENTO, 1L)
+                .containsEntry(StatusProjetoModel.EM_ANALISE, 0L);
+        assertThat(estatisticasProjetoService.obter(null).getPorStatus())
+                .containsEntry(StatusProjetoModel.EM_ANALISE, 1L)
+                .containsEntry(StatusProjetoModel.EM_ANDAMENTO, 2L);
+    }
+
+    @Test
+    void reconciliacaoCorrigeDivergenciasComOBanco() {
+        estatisticasProjetoService.reconciliar();
+        assertThat(meterRegistry.get("projetos.estatisticas.divergencias").counter().count()).isZero();
+
+        salvar("D", 2L, StatusProjetoModel.FINALIZADO);
+        estatisticasProjetoService.reconciliar();
+
+        assertThat(estatisticasProjetoService.obter(null).getTotal()).isEqualTo(4);
+        assertThat(meterRegistry.get("projetos.estatisticas.divergencias").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void eventosDuranteARecontagemNaoSePerdem() {
+        ProjetoRepository lento = mock(ProjetoRepository.class);
+        EstatisticasProjetoService estatisticas = new EstatisticasProjetoService(lento, meterRegistry, false, Duration.ZERO);
+        List<ContagemProjetosDTO> noBanco = List.of(new ContagemProjetosDTO(1L, StatusProjetoModel.EM_ANALISE, 1L));
+        when(lento.contarPorProfessorEStatus()).thenReturn(noBanco).thenAnswer(invocacao -> {
+            // Commit de outra transação enquanto o GROUP BY já lia a tabela.
+            estatisticas.aoAlterarProjeto(ProjetoAlteradoEvent.criado(20L, 5L, StatusProjetoModel.EM_ANALISE));
+            return noBanco;
+        });
+        estatisticas.inicializar();
+
+        estatisticas.reconciliar();
+
+        assertThat(estatisticas.obter(null).getTotal()).isEqualTo(2);
+        assertThat(estatisticas.obter(5L).getPorStatus()).containsEntry(StatusProjetoModel.EM_ANALISE, 1L);
+        assertThat(meterRegistry.get("projetos.estatisticas.divergencias").counter().count()).isZero();
+    }
+
+    @Test
+    void comInstanciasMultiplasDiferencaNaoContaComoDivergencia() {
+        EstatisticasProjetoService estatisticas = new EstatisticasProjetoService(projetoRepository, meterRegistry, true, Duration.ZERO);
+        estatisticas.inicializar();
+
+        salvar("D", 2L, StatusProjetoModel.FINALIZADO);
+        estatisticas.reconciliar();
+
+        assertThat(estatisticas.obter(null).getTotal()).isEqualTo(4);
+        assertThat(meterRegistry.get("projetos.estatisticas.divergencias").counter().count()).isZero();
+    }
+
+    @Test
+    void comInstanciasMultiplasInvalidacaoRemotaRecontaNaLeituraSeguinte() {
+        EstatisticasProjetoService estatisticas = new EstatisticasProjetoService(projetoRepository, meterRegistry, true, Duration.ZERO);
+        estatisticas.inicializar();
+        salvar("D", 2L, StatusProjetoModel.FINALIZADO);
+
+        estatisticas.aoInvalidarCache(new CacheProjetosInvalidadoEvent(1, false));
+        assertThat(estatisticas.obter(null).getTotal()).isEqualTo(3);
+
+        estatisticas.aoInvalidarCache(new CacheProjetosInvalidadoEvent(1, true));
+        assertThat(estatisticas.obter(null).getTotal()).isEqualTo(4);
+        assertThat(estatisticas.obter(2L).getPorStatus()).containsEntry(StatusProjetoModel.FINALIZADO, 1L);
+    }
+
+    @Test
+    void recontagemPorInvalidacaoRespeitaAValidade() {
+        EstatisticasProjetoService estatisticas = new EstatisticasProjetoService(projetoRepository, meterRegistry, true, Duration.ofHours(1));
+        estatisticas.inicializar();
+        salvar("D", 2L, StatusProjetoModel.FINALIZADO);
+
+        estatisticas.aoInvalidarCache(new CacheProjetosInvalidadoEvent(1, true));
+
+        assertThat(estatisticas.obter(null).getTotal()).isEqualTo(3);
+    }
+
+    @Test
+    void comUmaInstanciaInvalidacaoNaoDisparaRecontagem() {
+        salvar("D", 2L, StatusProjetoModel.FINALIZADO);
+
+        estatisticasProjetoService.aoInvalidarCache(new CacheProjetosInvalidadoEvent(1, true));
+
+        assertThat(estatisticasProjetoService.obter(null).getTotal()).isEqualTo(3);
+    }
+
+    private void salvar(String nome, Long professorId, StatusProjetoModel status) {
+        ProjetoModel projeto = new ProjetoModel(nome, null, null, null, null, professorId);
+        projeto.setStatus(status);
+        projetoRepository.saveAndFlush(projeto);
+    }
+}
@@ -0,0 +1,189 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import com.microservice.clientes.Clientes_microservice_curse.config.FeedProperties;
+import com.microservice.clientes.Clientes_microservice_curse.controller.ProjetoController;
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.event.ProjetoAlteradoEvent;
+import com.microservice.clientes.Clientes_microservice_curse.event.ProjetosAlteradosEmOutraInstanciaEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class FeedProjetosServiceTest {
+
+    private final FeedProperties propriedades = new FeedProperties();
+    private SimpleMeterRegistry meterRegistry;
+    private final List<Runnable> tarefasPendentes = new ArrayList<>();
+    private Executor executor = Runnable::run;
+    private FeedProjetosService feed;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        propriedades.setTamanhoReplay(3);
+        propriedades.setCapacidadeFila(2);
+        criarFeed();
+    }
+
+    @Test
+    void entregaSomenteEventosAceitosPeloFiltro() throws Exception {
+        MvcResult assinatura = assinar("/api/projetos/eventos?status=EM_ANDAMENTO&professorId=7", null);
+
+        feed.aoAlterarProjeto(new ProjetoAlteradoEvent(1L, 7L, StatusProjetoModel.EM_ANALISE, StatusProjetoModel.EM_ANDAMENTO));
+        feed.aoAlterarProjeto(new ProjetoAlteradoEvent(2L, 8L, StatusProjetoModel.EM_ANALISE, StatusProjetoModel.EM_ANDAMENTO));
+        feed.aoAlterarProjeto(new ProjetoAlteradoEvent(1L, 7L, StatusProjetoModel.EM_ANDAMENTO, StatusProjetoModel.FINALIZADO));
+        feed.aoAlterarProjeto(ProjetoAlteradoEvent.criado(3L, 7L, StatusProjetoModel.EM_ANALISE));
+
+        String corpo = assinatura.getResponse().getContentAsString();
+        assertThat(corpo).contains("event:projeto", "\"projetoId\":1", "\"statusNovo\":\"FINALIZADO\"");
+        assertThat(corpo).doesNotContain("\"projetoId\":2", "\"projetoId\":3");
+        assertThat(ids(corpo)).hasSize(2);
+    }
+
+    @Test
+    void alteracoesDeOutraInstanciaEntramNoFeed() throws Exception {
+        MvcResult assinatura = assinar("/api/projetos/eventos?professorId=7", null);
+
+        feed.aoAlterarProjeto(ProjetoAlteradoEvent.criado(1L, 7L, StatusProjetoModel.EM_ANALISE));
+        feed.aoAlterarEmOutraInstancia(new ProjetosAlteradosEmOutraInstanciaEvent(List.of(
+                ProjetoAlteradoEvent.criado(2L, 7L, StatusProjetoModel.EM_ANALISE),
+                ProjetoAlteradoEvent.criado(3L, 8L, StatusProjetoModel.EM_ANALISE))));
+
+        String corpo = assinatura.getResponse().getContentAsString();
+        assertThat(corpo).contains("\"projetoId\":1", "\"projetoId\":2").doesNotContain("\"projetoId\":3");
+        List<String> ids = ids(corpo);
+        assertThat(ids).hasSize(2);
+        assertThat(ids(assinar("/api/projetos/eventos?professorId=7", ids.get(0)).getResponse().getContentAsString()))
+                .containsExactly(ids.get(1));
+    }
+
+    @Test
+    void retomaDoUltimoEventoOuPedeRecargaQuandoEleSaiuDoBuffer() throws Exception {
+        MvcResult primeira = assinar("/api/projetos/eventos", null);
+        for (long id = 1; id <= 5; id++) {
+            feed.aoAlterarProjeto(ProjetoAlteradoEvent.criado(id, 7L, StatusProjetoModel.EM_ANALISE));
+        }
+        List<String> ids = ids(primeira.getResponse().getContentAsString());
+
+        String retomada = assinar("/api/projetos/eventos", ids.get(2)).getResponse().getContentAsString();
+        assertThat(ids(retomada)).containsExactly(ids.get(3), ids.get(4));
+
+        String antiga = assinar("/api/projetos/eventos", ids.get(0)).getResponse().getContentAsString();
+        assertThat(antiga).contains("event:reinicio").doesNotContain("event:projeto");
+
+        String outraExecucao = assinar("/api/projetos/eventos?lastEventId=abc-2", null).getResponse().getContentAsString();
+        assertThat(outraExecucao).contains("event:reinicio");
+    }
+
+    @Test
+    void encerraAssinaturaDeConsumidorLento() {
+        executor = tarefasPendentes::add;
+        criarFeed();
+        feed.assinar(null, null, null);
+        feed.assinar(StatusProjetoModel.FINALIZADO, null, null);
+
+        for (long id = 1; id <= 3; id++) {
+            feed.aoAlterarProjeto(ProjetoAlteradoEvent.criado(id, 7L, StatusProjetoModel.EM_ANALISE));
+        }
+
+        assertThat(feed.getAssinaturasAbertas()).isEqualTo(1);
+        assertThat(meterRegistry.get("projetos.feed.descartadas").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("projetos.feed.assinaturas").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void envioTravadoEncerraAAssinaturaELiberaAThreadParaAsDemais() throws Exception {
+        propriedades.setTimeoutEnvio(Duration.ofMillis(50));
+        CountDownLatch travou = new CountDownLatch(1);
+        CountDownLatch completado = new CountDownLatch(1);
+        BlockingQueue<SseEmitter.SseEventBuilder> recebidos = new LinkedBlockingQueue<>();
+        SseEmitter parado = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder evento) throws IOException {
+                travou.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException("envio interrompido");
+                }
+            }
+
+            @Override
+            public synchronized void complete() {
+                completado.countDown();
+                super.complete();
+            }
+        };
+        SseEmitter ativo = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder evento) {
+                recebidos.add(evento);
+            }
+        };
+        ArrayDeque<SseEmitter> emitters = new ArrayDeque<>(List.of(parado, ativo));
+        ExecutorService umaThread = Executors.newSingleThreadExecutor();
+        try {
+            meterRegistry = new SimpleMeterRegistry();
+            feed = new FeedProjetosService(propriedades, meterRegistry, umaThread) {
+                @Override
+                SseEmitter novoEmitter() {
+                    return emitters.pop();
+                }
+            };
+            feed.assinar(null, 7L, null);
+            feed.assinar(null, 8L, null);
+
+            feed.aoAlterarProjeto(ProjetoAlteradoEvent.criado(1L, 7L, StatusProjetoModel.EM_ANALISE));
+            assertThat(travou.await(5, TimeUnit.SECONDS)).isTrue();
+            feed.aoAlterarProjeto(ProjetoAlteradoEvent.criado(2L, 8L, StatusProjetoModel.EM_ANALISE));
+            assertThat(recebidos.poll(100, TimeUnit.MILLISECONDS)).as("a única thread está presa").isNull();
+
+            feed.encerrarEnviosTravados();
+
+            assertThat(recebidos.poll(5, TimeUnit.SECONDS)).isNotNull();
+            assertThat(completado.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(feed.getAssinaturasAbertas()).isEqualTo(1);
+            assertThat(meterRegistry.get("projetos.feed.travadas").counter().count()).isEqualTo(1);
+        } finally {
+            umaThread.shutdownNow();
+        }
+    }
+
+    private void criarFeed() {
+        meterRegistry = new SimpleMeterRegistry();
+        feed = new FeedProjetosService(propriedades, meterRegistry, executor);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProjetoController(null, null, null, feed)).build();
+    }
+
+    private MvcResult assinar(String url, String ultimoEventoId) throws Exception {
+        var requisicao = get(url);
+        if (ultimoEventoId != null) requisicao.header("Last-Event-ID", ultimoEventoId);
+        return mockMvc.perform(requisicao).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private static List<String> ids(String corpo) {
+        return corpo.lines().filter(linha -> linha.startsWith("id:")).map(linha -> linha.substring(3)).toList();
+    }
+}
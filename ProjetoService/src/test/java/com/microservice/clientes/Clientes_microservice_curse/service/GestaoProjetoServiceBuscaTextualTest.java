@@ -0,0 +1,147 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.clientes.Clientes_microservice_curse.Clients.GroupServiceClientLocal;
+import com.microservice.clientes.Clientes_microservice_curse.Clients.UserServiceClientLocal;
+import com.microservice.clientes.Clientes_microservice_curse.config.CircuitBreakerFactoryLocal;
+import com.microservice.clientes.Clientes_microservice_curse.config.EnriquecimentoProperties;
+import com.microservice.clientes.Clientes_microservice_curse.dto.PaginaDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ProjetoResumoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.repository.ProjetoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static com.microservice.clientes.Clientes_microservice_curse.service.GestaoProjetoService.POSICAO_MAXIMA_BUSCA;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * A busca textual depende do PostgreSQL; aqui o repositório é simulado para conferir a
+ * validação, a consulta de um item a mais e a aritmética do cursor por posição.
+ */
+class GestaoProjetoServiceBuscaTextualTest {
+
+    private final ProjetoRepository projetoRepository = mock(ProjetoRepository.class);
+    private EnriquecimentoProjetoService enriquecimentoProjetoService;
+    private GestaoProjetoService gestaoProjetoService;
+
+    @BeforeEach
+    void setUp() {
+        UserServiceClientLocal userServiceClient = new UserServiceClientLocal();
+        userServiceClient.comUsuario(7L, "Professor 7");
+        enriquecimentoProjetoService = new EnriquecimentoProjetoService(userServiceClient, new GroupServiceClientLocal(),
+                new EnriquecimentoProperties(), new CircuitBreakerFactoryLocal(), new SimpleMeterRegistry());
+        gestaoProjetoService = new GestaoProjetoService(projetoRepository, enriquecimentoProjetoService,
+                null, new ObjectMapper(), evento -> { }, null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        enriquecimentoProjetoService.destroy();
+    }
+
+    @Test
+    void recusaTermoELimiteForaDaFaixaSemConsultarOBanco() {
+        assertThatThrownBy(() -> gestaoProjetoService.buscarPorTexto(null, null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> gestaoProjetoService.buscarPorTexto("  ", null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> gestaoProjetoService.buscarPorTexto("a".repeat(201), null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> gestaoProjetoService.buscarPorTexto("robótica", null, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> gestaoProjetoService.buscarPorTexto("robótica", null, null, GestaoProjetoService.LIMITE_PAGINA_MAXIMO + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(projetoRepository);
+    }
+
+    @Test
+    void pedeUmItemAMaisEAvancaOCursorPelaPosicao() {
+        when(projetoRepository.buscarIdsPorTexto("robótica", 3, 0L)).thenReturn(List.of(5L, 3L, 9L));
+        when(projetoRepository.findByIdIn(List.of(5L, 3L), ProjetoResumoDTO.class)).thenReturn(List.of(resumo(3L), resumo(5L)));
+
+        PaginaDTO<ProjetoResumoDTO> primeira = gestaoProjetoService.buscarPorTexto("robótica", null, null, 2);
+
+        assertThat(primeira.getItens()).extracting(ProjetoResumoDTO::getId).as("ordem de relevância").containsExactly(5L, 3L);
+        assertThat(primeira.getItens()).extracting(ProjetoResumoDTO::getNomeProfessorCriador).containsOnly("Professor 7");
+        assertThat(primeira.getProximoCursor()).isEqualTo(CursorProjetos.codificarPosicao(2));
+
+        when(projetoRepository.buscarIdsPorTexto("robótica", 3, 2L)).thenReturn(List.of(9L));
+        when(projetoRepository.findByIdIn(List.of(9L), ProjetoResumoDTO.class)).thenReturn(List.of(resumo(9L)));
+
+        PaginaDTO<ProjetoResumoDTO> segunda = gestaoProjetoService.buscarPorTexto("robótica", null, primeira.getProximoCursor(), 2);
+
+        assertThat(segunda.getItens()).extracting(ProjetoResumoDTO::getId).containsExactly(9L);
+        assertThat(segunda.getProximoCursor()).isNull();
+    }
+
+    @Test
+    void filtraPorStatusPelaConsultaPropria() {
+        when(projetoRepository.buscarIdsPorTextoEStatus("robótica", "EM_ANALISE", 11, 20L))
+                .thenReturn(List.of(4L));
+        when(projetoRepository.findByIdIn(List.of(4L), ProjetoResumoDTO.class)).thenReturn(List.of(resumo(4L)));
+
+        PaginaDTO<ProjetoResumoDTO> pagina = gestaoProjetoService.buscarPorTexto("robótica", StatusProjetoModel.EM_ANALISE,
+                CursorProjetos.codificarPosicao(20), 10);
+
+        assertThat(pagina.getItens()).extracting(ProjetoResumoDTO::getId).containsExactly(4L);
+        assertThat(pagina.getProximoCursor()).isNull();
+        verify(projetoRepository).buscarIdsPorTextoEStatus("robótica", "EM_ANALISE", 11, 20L);
+    }
+
+    @Test
+    void paginacaoParaNaPosicaoMaxima() {
+        when(projetoRepository.buscarIdsPorTexto("robótica", 6, POSICAO_MAXIMA_BUSCA - 5))
+                .thenReturn(List.of(1L, 2L, 3L, 4L, 5L, 6L));
+        when(projetoRepository.findByIdIn(List.of(1L, 2L, 3L, 4L, 5L), ProjetoResumoDTO.class))
+                .thenReturn(List.of(resumo(1L), resumo(2L), resumo(3L), resumo(4L), resumo(5L)));
+
+        PaginaDTO<ProjetoResumoDTO> ultima = gestaoProjetoService.buscarPorTexto("robótica", null,
+                CursorProjetos.codificarPosicao(POSICAO_MAXIMA_BUSCA - 5), 10);
+
+        assertThat(ultima.getItens()).hasSize(5);
+        assertThat(ultima.getProximoCursor()).isNull();
+    }
+
+    @Test
+    void recusaPosicaoAlemDaMaxima() {
+        assertThatThrownBy(() -> gestaoProjetoService.buscarPorTexto("robótica", null,
+                CursorProjetos.codificarPosicao(POSICAO_MAXIMA_BUSCA), 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("refine o termo");
+        verifyNoInteractions(projetoRepository);
+    }
+
+    @Test
+    void recusaCursorDePosicaoMalFormado() {
+        assertThat(CursorProjetos.decodificarPosicao(CursorProjetos.codificarPosicao(40))).isEqualTo(40);
+
+        for (String cursor : List.of(base64("id:40"), base64("pos:-1"), base64("pos:quarenta"), base64("pos:"), "%%%")) {
+            assertThatThrownBy(() -> gestaoProjetoService.buscarPorTexto("robótica", null, cursor, 10))
+                    .as(cursor)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Cursor de paginação inválido.");
+        }
+        verifyNoInteractions(projetoRepository);
+    }
+
+    private static ProjetoResumoDTO resumo(Long id) {
+        return new ProjetoResumoDTO(id, "Projeto " + id, StatusProjetoModel.EM_ANALISE, null, 7L, null);
+    }
+
+    private static String base64(String conteudo) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,350 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.clientes.Clientes_microservice_curse.Clients.GroupServiceClientLocal;
+import com.microservice.clientes.Clientes_microservice_curse.Clients.UserServiceClientLocal;
+import com.microservice.clientes.Clientes_microservice_curse.config.CircuitBreakerFactoryLocal;
+import com.microservice.clientes.Clientes_microservice_curse.config.EnriquecimentoProperties;
+import com.microservice.clientes.Clientes_microservice_curse.config.OutboxProperties;
+import com.microservice.clientes.Clientes_microservice_curse.dto.PaginaDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ProjetoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ProjetoParcialDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ProjetoResumoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ResultadoAlteracaoStatusDTO;
+import com.microservice.clientes.Clientes_microservice_curse.enums.ResultadoAlteracaoStatus;
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.enums.TipoEventoProjeto;
+import com.microservice.clientes.Clientes_microservice_curse.event.ProjetoAlteradoEvent;
+import com.microservice.clientes.Clientes_microservice_curse.exception.ConflitoEstadoProjetoException;
+import com.microservice.clientes.Clientes_microservice_curse.exception.ProjetoNaoEncontradoException;
+import com.microservice.clientes.Clientes_microservice_curse.model.EventoProjetoOutboxModel;
+import com.microservice.clientes.Clientes_microservice_curse.model.ProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.repository.EventoProjetoOutboxRepository;
+import com.microservice.clientes.Clientes_microservice_curse.repository.ProjetoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class GestaoProjetoServiceTest {
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EventoProjetoOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UserServiceClientLocal userServiceClient;
+    private EnriquecimentoProjetoService enriquecimentoProjetoService;
+    private GestaoProjetoService gestaoProjetoService;
+    private final List<Object> eventos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userServiceClient = new UserServiceClientLocal();
+        userServiceClient.comUsuario(7L, "Professor 7");
+        enriquecimentoProjetoService = new EnriquecimentoProjetoService(userServiceClient, new GroupServiceClientLocal(),
+                new EnriquecimentoProperties(), new CircuitBreakerFactoryLocal(), new SimpleMeterRegistry());
+        gestaoProjetoService = new GestaoProjetoService(projetoRepository, enriquecimentoProjetoService,
+                entityManager, new ObjectMapper(), eventos::add,
+                new OutboxEventosProjetoService(outboxRepository, new GroupServiceClientLocal(), transactionManager,
+                        new OutboxProperties(), new SimpleMeterRegistry()),
+                transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        enriquecimentoProjetoService.destroy();
+    }
+
+    @Test
+    void atualizaSomenteProjetosEmAnaliseEInformaCadaId() {
+        Long emAnalise = salvar("A", StatusProjetoModel.EM_ANALISE);
+        Long outroEmAnalise = salvar("B", StatusProjetoModel.EM_ANALISE);
+        Long recusado = salvar("C", StatusProjetoModel.RECUSADO);
+
+        List<ResultadoAlteracaoStatusDTO> resultados = gestaoProjetoService.alterarStatusEmLote(
+                List.of(emAnalise, recusado, 999L, outroEmAnalise, emAnalise), StatusProjetoModel.EM_ANDAMENTO, false);
+
+        assertThat(resultados).extracting(ResultadoAlteracaoStatusDTO::getId)
+                .containsExactly(emAnalise, recusado, 999L, outroEmAnalise);
+        assertThat(resultados).extracting(ResultadoAlteracaoStatusDTO::getResultado).containsExactly(
+                ResultadoAlteracaoStatus.ATUALIZADO, ResultadoAlteracaoStatus.ESTADO_INVALIDO,
+                ResultadoAlteracaoStatus.NAO_ENCONTRADO, ResultadoAlteracaoStatus.ATUALIZADO);
+        assertThat(resultados.get(1).getStatus()).isEqualTo(StatusProjetoModel.RECUSADO);
+        assertThat(resultados).allSatisfy(resultado -> assertThat(resultado.getProjeto()).isNull());
+        assertThat(projetoRepository.findById(emAnalise)).get().extracting(ProjetoModel::getStatus)
+                .isEqualTo(StatusProjetoModel.EM_ANDAMENTO);
+        assertThat(projetoRepository.findById(recusado)).get().extracting(ProjetoModel::getStatus)
+                .isEqualTo(StatusProjetoModel.RECUSADO);
+        assertThat(userServiceClient.getChamadasEmLote()).isZero();
+        assertThat(projetoRepository.findById(emAnalise)).get().extracting(ProjetoModel::getVersao).isEqualTo(1L);
+    }
+
+    @Test
+    void enriqueceOsProjetosAtualizadosQuandoSolicitado() {
+        Long emAnalise = salvar("A", StatusProjetoModel.EM_ANALISE);
+
+        List<ResultadoAlteracaoStatusDTO> resultados = gestaoProjetoService.alterarStatusEmLote(
+                List.of(emAnalise), StatusProjetoModel.RECUSADO, true);
+
+        assertThat(resultados.get(0).getProjeto().getStatus()).isEqualTo(StatusProjetoModel.RECUSADO);
+        assertThat(resultados.get(0).getProjeto().getNomeProfessorCriador()).isEqualTo("Professor 7");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void enriqueceSomenteDepoisDoCommitDaAlteracaoEmLote() {
+        Long emAnalise = salvar("A", StatusProjetoModel.EM_ANALISE);
+        List<StatusProjetoModel> vistosDuranteEnriquecimento = new ArrayList<>();
+        userServiceClient.aoBuscarEmLote(() -> vistosDuranteEnriquecimento.add(
+                projetoRepository.findById(emAnalise).map(ProjetoModel::getStatus).orElse(null)));
+        try {
+            gestaoProjetoService.alterarStatusEmLote(List.of(emAnalise), StatusProjetoModel.RECUSADO, true);
+
+            assertThat(vistosDuranteEnriquecimento).containsExactly(StatusProjetoModel.RECUSADO);
+        } finally {
+            projetoRepository.deleteById(emAnalise);
+        }
+    }
+
+    @Test
+    void recusaStatusDeDestinoNaoSuportado() {
+        assertThatThrownBy(() -> gestaoProjetoService.alterarStatusEmLote(List.of(1L), StatusProjetoModel.FINALIZADO, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void nomeDuplicadoSoEhRecusadoQuandoIgual() {
+        salvar("Projeto Alfa", StatusProjetoModel.EM_ANALISE);
+        Long beta = salvar("Projeto Beta", StatusProjetoModel.EM_ANALISE);
+        ProjetoDTO igual = new ProjetoDTO();
+        igual.setNome("Projeto Alfa");
+        ProjetoDTO outraCaixa = new ProjetoDTO();
+        outraCaixa.setNome("PROJETO ALFA");
+
+        assertThatThrownBy(() -> gestaoProjetoService.solicitarNovoProjeto(igual, 7L))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> gestaoProjetoService.atualizarDados(beta, igual, 7L, "ROLE_ADMIN"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(gestaoProjetoService.atualizarDados(beta, outraCaixa, 7L, "ROLE_ADMIN").getNome())
+                .isEqualTo("PROJETO ALFA");
+    }
+
+    @Test
+    void aprovaProjetoEmAnaliseIncrementandoAVersao() {
+        Long id = salvar("A", StatusProjetoModel.EM_ANALISE);
+
+        ProjetoDTO aprovado = gestaoProjetoService.aprovarProjeto(id);
+
+        assertThat(aprovado.getStatus()).isEqualTo(StatusProjetoModel.EM_ANDAMENTO);
+        assertThat(aprovado.getNomeProfessorCriador()).isEqualTo("Professor 7");
+        assertThat(projetoRepository.findById(id)).get().extracting(ProjetoModel::getVersao).isEqualTo(1L);
+        assertThat(eventos).singleElement().isInstanceOfSatisfying(ProjetoAlteradoEvent.class, evento -> {
+            assertThat(evento.getProfessorCriadorId()).isEqualTo(7L);
+            assertThat(evento.getStatusAnterior()).isEqualTo(StatusProjetoModel.EM_ANALISE);
+            assertThat(evento.getStatusNovo()).isEqualTo(StatusProjetoModel.EM_ANDAMENTO);
+        });
+    }
+
+    @Test
+    void distingueProjetoInexistenteDeEstadoDiferenteDoEsperado() {
+        Long recusado = salvar("A", StatusProjetoModel.RECUSADO);
+
+        assertThatThrownBy(() -> gestaoProjetoService.aprovarProjeto(999L))
+                .isInstanceOf(ProjetoNaoEncontradoException.class);
+        assertThatThrownBy(() -> gestaoProjetoService.aprovarProjeto(recusado))
+                .isInstanceOf(ConflitoEstadoProjetoException.class)
+                .hasMessageContaining("RECUSADO");
+        assertThat(projetoRepository.findById(recusado)).get().extracting(ProjetoModel::getVersao).isEqualTo(0L);
+    }
+
+    @Test
+    void finalizacaoPorOutroProfessorEhNegada() {
+        Long id = salvar("A", StatusProjetoModel.EM_ANDAMENTO);
+
+        assertThatThrownBy(() -> gestaoProjetoService.finalizarProjeto(id, 8L, "ROLE_PROFESSOR"))
+                .isInstanceOf(SecurityException.class);
+        assertThat(gestaoProjetoService.finalizarProjeto(id, 7L, "ROLE_PROFESSOR").getStatus())
+                .isEqualTo(StatusProjetoModel.FINALIZADO);
+    }
+
+    @Test
+    void associaGrupoUmaUnicaVez() {
+        Long id = salvar("A", StatusProjetoModel.EM_ANDAMENTO);
+
+        assertThat(gestaoProjetoService.associarGrupo(id, 3L).getGrupoId()).isEqualTo(3L);
+        assertThatThrownBy(() -> gestaoProjetoService.associarGrupo(id, 4L))
+                .isInstanceOf(ConflitoEstadoProjetoException.class)
+                .hasMessageContaining("já possui um grupo");
+        assertThat(gestaoProjetoService.desassociarGrupo(id).getGrupoId()).isNull();
+        assertThatThrownBy(() -> gestaoProjetoService.desassociarGrupo(id))
+                .isInstanceOf(ConflitoEstadoProjetoException.class);
+        assertThat(outboxRepository.findAll(Sort.by("id")))
+                .extracting(EventoProjetoOutboxModel::getTipo, EventoProjetoOutboxModel::getGrupoId)
+                .containsExactly(tuple(TipoEventoProjeto.GRUPO_ASSOCIADO, 3L), tuple(TipoEventoProjeto.GRUPO_DESASSOCIADO, 3L));
+    }
+
+    @Test
+    void camposParciaisNaoConsultamServicosRemotosQuandoNomesNaoSaoPedidos() {
+        Long id = salvar("A", StatusProjetoModel.EM_ANALISE);
+        salvar("B", StatusProjetoModel.RECUSADO);
+
+        List<ProjetoParcialDTO> projetos = gestaoProjetoService.listarCampos("nome, status", StatusProjetoModel.EM_ANALISE, null);
+
+        assertThat(projetos).singleElement().satisfies(projeto -> {
+            assertThat(projeto.getId()).isEqualTo(id);
+            assertThat(projeto.getCampos()).containsExactly(entry("nome", "A"), entry("status", StatusProjetoModel.EM_ANALISE));
+        });
+        assertThat(userServiceClient.getChamadasEmLote()).isZero();
+    }
+
+    @Test
+    void camposParciaisResolvemSomenteOsNomesPedidos() throws Exception {
+        Long id = salvar("A", StatusProjetoModel.EM_ANALISE);
+
+        ProjetoParcialDTO projeto = gestaoProjetoService.buscarCamposPorId("id,nomeProfessorCriador", id).orElseThrow();
+
+        assertThat(projeto.getCampos()).containsExactly(entry("id", id), entry("nomeProfessorCriador", "Professor 7"));
+        assertThat(projeto.getGrupoId()).isNull();
+        assertThat(new ObjectMapper().writeValueAsString(projeto))
+                .isEqualTo("{\"id\":" + id + ",\"nomeProfessorCriador\":\"Professor 7\"}");
+        assertThatThrownBy(() -> gestaoProjetoService.buscarCamposPorId("id,senha", id))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("senha");
+    }
+
+    @Test
+    void paginasPorCursorPercorremOsProjetosSemRepetirAteOCursorNulo() {
+        Long a = salvar("A", StatusProjetoModel.EM_ANALISE);
+        salvar("B", StatusProjetoModel.RECUSADO);
+        Long c = salvar("C", StatusProjetoModel.EM_ANALISE);
+        Long d = salvar("D", StatusProjetoModel.EM_ANALISE);
+        Long e = salvar("E", StatusProjetoModel.EM_ANALISE);
+
+        PaginaDTO<ProjetoDTO> primeira = gestaoProjetoService.listarPagina(StatusProjetoModel.EM_ANALISE, null, null, 2, ProjetoDTO.class);
+        PaginaDTO<ProjetoDTO> segunda = gestaoProjetoService.listarPagina(StatusProjetoModel.EM_ANALISE, null,
+                primeira.getProximoCursor(), 2, ProjetoDTO.class);
+
+        assertThat(primeira.getItens()).extracting(ProjetoDTO::getId).containsExactly(a, c);
+        assertThat(primeira.getItens()).extracting(ProjetoDTO::getNomeProfessorCriador).containsOnly("Professor 7");
+        assertThat(CursorProjetos.decodificar(primeira.getProximoCursor())).isEqualTo(c);
+        assertThat(segunda.getItens()).extracting(ProjetoDTO::getId).containsExactly(d, e);
+        assertThat(segunda.getProximoCursor()).as("página completa sem mais itens não aponta para outra").isNull();
+        assertThat(gestaoProjetoService.listarPagina(null, 7L, CursorProjetos.codificar(d), 10, ProjetoDTO.class))
+                .satisfies(ultima -> {
+                    assertThat(ultima.getItens()).extracting(ProjetoDTO::getId).containsExactly(e);
+                    assertThat(ultima.getProximoCursor()).isNull();
+                });
+    }
+
+    @Test
+    void paginacaoRecusaLimiteForaDaFaixaECursorInvalido() {
+        assertThatThrownBy(() -> gestaoProjetoService.listarPagina(null, null, null, 0, ProjetoDTO.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> gestaoProjetoService.listarPagina(null, null, null,
+                GestaoProjetoService.LIMITE_PAGINA_MAXIMO + 1, ProjetoDTO.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        for (String cursor : List.of("não é base64!", CursorProjetos.codificarPosicao(3), base64("id:-1"), base64("id:abc"))) {
+            assertThatThrownBy(() -> gestaoProjetoService.listarPagina(null, null, cursor, 10, ProjetoDTO.class))
+                    .as(cursor)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Cursor de paginação inválido.");
+        }
+        assertThat(gestaoProjetoService.listarPagina(null, null, "", 10, ProjetoDTO.class).getItens()).isEmpty();
+    }
+
+    @Test
+    void resumosSaoProjetadosEmTodasAsCombinacoesDeFiltro() {
+        Long a = salvar("A", StatusProjetoModel.EM_ANALISE);
+        Long b = salvar("B", StatusProjetoModel.RECUSADO);
+
+        assertThat(gestaoProjetoService.listarResumos(null, null)).extracting(ProjetoResumoDTO::getId).containsExactly(a, b);
+        assertThat(gestaoProjetoService.listarResumos(StatusProjetoModel.RECUSADO, null)).extracting(ProjetoResumoDTO::getId)
+                .containsExactly(b);
+        assertThat(gestaoProjetoService.listarResumos(null, 8L)).isEmpty();
+        assertThat(gestaoProjetoService.listarResumos(StatusProjetoModel.EM_ANALISE, 7L)).singleElement()
+                .satisfies(resumo -> {
+                    assertThat(resumo.getNome()).isEqualTo("A");
+                    assertThat(resumo.getStatus()).isEqualTo(StatusProjetoModel.EM_ANALISE);
+                    assertThat(resumo.getProfessorCriadorId()).isEqualTo(7L);
+                    assertThat(resumo.getNomeProfessorCriador()).isEqualTo("Professor 7");
+                });
+    }
+
+    @Test
+    void exportaUmProjetoEnriquecidoPorLinhaAtravessandoLotes() throws Exception {
+        List<ProjetoModel> projetos = new ArrayList<>();
+        for (int i = 0; i < 205; i++) {
+            ProjetoModel projeto = new ProjetoModel("Projeto " + i, null, null, null, null, 7L);
+            projeto.setStatus(StatusProjetoModel.EM_ANALISE);
+            projetos.add(projeto);
+        }
+        projetoRepository.saveAllAndFlush(projetos);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        assertThat(gestaoProjetoService.exportarNdjson(saida)).isEqualTo(205);
+
+        String conteudo = saida.toString(StandardCharsets.UTF_8);
+        assertThat(conteudo).endsWith("\n");
+        List<JsonNode> linhas = new ArrayList<>();
+        for (String linha : conteudo.split("\n")) {
+            linhas.add(new ObjectMapper().readTree(linha));
+        }
+        assertThat(linhas).hasSize(205)
+                .allSatisfy(linha -> assertThat(linha.get("nomeProfessorCriador").asText()).isEqualTo("Professor 7"));
+        assertThat(linhas).extracting(linha -> linha.get("id").asLong()).isSorted().doesNotHaveDuplicates();
+        assertThat(linhas.get(204).get("nome").asText()).isEqualTo("Projeto 204");
+    }
+
+    @Test
+    void exportacaoDeTabelaVaziaNaoEscreveNada() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        assertThat(gestaoProjetoService.exportarNdjson(saida)).isZero();
+
+        assertThat(saida.size()).isZero();
+        assertThat(userServiceClient.getChamadasEmLote()).isZero();
+    }
+
+    private static String base64(String conteudo) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long salvar(String nome, StatusProjetoModel status) {
+        ProjetoModel projeto = new ProjetoModel(nome, null, null, null, null, 7L);
+        projeto.setStatus(status);
+        return projetoRepository.saveAndFlush(projeto).getId();
+    }
+}
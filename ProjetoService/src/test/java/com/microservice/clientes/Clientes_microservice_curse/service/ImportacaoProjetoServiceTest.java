@@ -0,0 +1,102 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ErroImportacaoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ResultadoImportacaoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.model.ProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.repository.ProjetoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ImportacaoProjetoServiceTest {
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ImportacaoProjetoService importacaoProjetoService;
+
+    @BeforeEach
+    void setUp() {
+        importacaoProjetoService = new ImportacaoProjetoService(projetoRepository, objectMapper, transactionManager, evento -> { });
+    }
+
+    @AfterEach
+    void tearDown() {
+        projetoRepository.deleteAll();
+    }
+
+    @Test
+    void importaCsvERelataErrosPorLinhaSemInterromper() {
+        ProjetoModel existente = new ProjetoModel("Existente", null, null, null, null, 1L);
+        projetoRepository.save(existente);
+        String csv = """
+                nome,objetivo,dataInicio,status,professorCriadorId,grupoId
+                Alfa,"Objetivo, com vírgula",2025-02-01,EM_ANDAMENTO,5,10
+                Existente,,,,,
+                ,Sem nome,,,,
+                Beta,,,,abc,
+                Alfa,,,,,
+                Gama,,,,,10
+                Delta,,,,,
+                """;
+
+        ResultadoImportacaoDTO resultado = importacaoProjetoService.importarCsv(csv.getBytes(StandardCharsets.UTF_8), 99L);
+
+        assertThat(resultado.getTotalLinhas()).isEqualTo(7);
+        assertThat(resultado.getImportados()).isEqualTo(2);
+        assertThat(resultado.getErros()).extracting(ErroImportacaoDTO::getLinha).containsExactly(2, 3, 4, 5, 6);
+        ProjetoModel alfa = projetoRepository.findByNome("Alfa").orElseThrow();
+        assertThat(alfa.getObjetivo()).isEqualTo("Objetivo, com vírgula");
+        assertThat(alfa.getStatus()).isEqualTo(StatusProjetoModel.EM_ANDAMENTO);
+        assertThat(alfa.getGrupoId()).isEqualTo(10L);
+        ProjetoModel delta = projetoRepository.findByNome("Delta").orElseThrow();
+        assertThat(delta.getStatus()).isEqualTo(StatusProjetoModel.EM_ANALISE);
+        assertThat(delta.getProfessorCriadorId()).isEqualTo(99L);
+    }
+
+    @Test
+    void importaArrayJsonEmVariosLotes() throws Exception {
+        StringBuilder json = new StringBuilder("[");
+        int total = ImportacaoProjetoService.TAMANHO_LOTE * 2 + 10;
+        for (int i = 0; i < total; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"nome\":\"Projeto ").append(i).append("\",\"professorCriadorId\":").append(i % 7).append('}');
+        }
+        json.append(']');
+
+        ResultadoImportacaoDTO resultado = importacaoProjetoService.importarJson(objectMapper.readTree(json.toString()), 1L);
+
+        assertThat(resultado.getImportados()).isEqualTo(total);
+        assertThat(resultado.getErros()).isEmpty();
+        assertThat(projetoRepository.count()).isEqualTo(total);
+    }
+
+    @Test
+    void recusaCorpoJsonQueNaoEhArray() throws Exception {
+        assertThatThrownBy(() -> importacaoProjetoService.importarJson(objectMapper.readTree("{\"nome\":\"X\"}"), 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,140 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import com.microservice.clientes.Clientes_microservice_curse.config.CanalInvalidacaoCacheLocal;
+import com.microservice.clientes.Clientes_microservice_curse.dto.AlteracaoProjetoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.InvalidacaoCacheDTO;
+import com.microservice.clientes.Clientes_microservice_curse.dto.ProjetoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.enums.StatusProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.event.CacheProjetosInvalidadoEvent;
+import com.microservice.clientes.Clientes_microservice_curse.event.DadosProjetoAlteradosEvent;
+import com.microservice.clientes.Clientes_microservice_curse.event.ProjetoAlteradoEvent;
+import com.microservice.clientes.Clientes_microservice_curse.event.ProjetosAlteradosEmOutraInstanciaEvent;
+import com.microservice.clientes.Clientes_microservice_curse.model.ProjetoModel;
+import com.microservice.clientes.Clientes_microservice_curse.repository.ProjetoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class InvalidacaoCacheProjetosServiceTest {
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final CanalInvalidacaoCacheLocal canal = new CanalInvalidacaoCacheLocal();
+    private final List<InvalidacaoCacheDTO> mensagens = new ArrayList<>();
+    private final List<Object> eventosA = new ArrayList<>();
+    private final List<Object> eventosB = new ArrayList<>();
+    private InvalidacaoCacheProjetosService instanciaA;
+    private InvalidacaoCacheProjetosService instanciaB;
+
+    @BeforeEach
+    void setUp() {
+        canal.assinar(mensagens::add);
+        instanciaA = new InvalidacaoCacheProjetosService(canal, entityManagerFactory, eventosA::add, new SimpleMeterRegistry());
+        instanciaB = new InvalidacaoCacheProjetosService(canal, entityManagerFactory, eventosB::add, new SimpleMeterRegistry());
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        projetoRepository.deleteAll();
+    }
+
+    @Test
+    void alteracoesDaTransacaoSaoEnviadasNumaUnicaMensagemAposOCommit() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+
+        transacao.executeWithoutResult(status -> {
+            instanciaA.aoAlterarDados(new DadosProjetoAlteradosEvent(1L));
+            instanciaA.aoAlterarDados(new DadosProjetoAlteradosEvent(2L));
+            instanciaA.aoAlterarDados(new DadosProjetoAlteradosEvent(1L));
+            assertThat(mensagens).isEmpty();
+        });
+        transacao.executeWithoutResult(status -> {
+            instanciaA.aoAlterarDados(new DadosProjetoAlteradosEvent(3L));
+            status.setRollbackOnly();
+        });
+
+        assertThat(mensagens).singleElement()
+                .extracting(InvalidacaoCacheDTO::getProjetoIds)
+                .isEqualTo(List.of(1L, 2L));
+        assertThat(eventosA).as("a instância que escreveu também leva as leituras ao primário").singleElement()
+                .isInstanceOfSatisfying(CacheProjetosInvalidadoEvent.class,
+                        evento -> assertThat(evento.getQuantidadeProjetos()).isEqualTo(2));
+    }
+
+    @Test
+    void mudancasDeStatusChegamAsOutrasInstanciasParaOFeed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            instanciaA.aoAlterarProjeto(ProjetoAlteradoEvent.criado(1L, 7L, StatusProjetoModel.EM_ANALISE));
+            instanciaA.aoAlterarDados(new DadosProjetoAlteradosEvent(2L));
+            instanciaA.aoAlterarProjeto(new ProjetoAlteradoEvent(1L, 7L, StatusProjetoModel.EM_ANALISE, StatusProjetoModel.EM_ANDAMENTO));
+        });
+
+        assertThat(mensagens).singleElement().satisfies(mensagem -> {
+            assertThat(mensagem.getProjetoIds()).containsExactly(1L, 2L);
+            assertThat(mensagem.getAlteracoes()).extracting(AlteracaoProjetoDTO::getStatusNovo)
+                    .containsExactly(StatusProjetoModel.EM_ANALISE, StatusProjetoModel.EM_ANDAMENTO);
+        });
+        assertThat(eventosA).noneMatch(ProjetosAlteradosEmOutraInstanciaEvent.class::isInstance);
+        assertThat(eventosB).filteredOn(ProjetosAlteradosEmOutraInstanciaEvent.class::isInstance).singleElement()
+                .isInstanceOfSatisfying(ProjetosAlteradosEmOutraInstanciaEvent.class, evento ->
+                        assertThat(evento.getAlteracoes()).extracting(ProjetoAlteradoEvent::getProjetoId,
+                                        ProjetoAlteradoEvent::getStatusAnterior, ProjetoAlteradoEvent::getStatusNovo)
+                                .containsExactly(tuple(1L, null, StatusProjetoModel.EM_ANALISE),
+                                        tuple(1L, StatusProjetoModel.EM_ANALISE, StatusProjetoModel.EM_ANDAMENTO)));
+    }
+
+    @Test
+    void invalidacaoDeOutraInstanciaDescartaEntidadeEConsultas() {
+        ProjetoModel projeto = new ProjetoModel("Cacheado", null, null, null, null, 7L);
+        projeto.setStatus(StatusProjetoModel.EM_ANALISE);
+        Long id = projetoRepository.save(projeto).getId();
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        projetoRepository.findById(id);
+        projetoRepository.findByStatus(StatusProjetoModel.EM_ANALISE, ProjetoDTO.class);
+        projetoRepository.findByStatus(StatusProjetoModel.EM_ANALISE, ProjetoDTO.class);
+        assertThat(entityManagerFactory.getCache().contains(ProjetoModel.class, id)).isTrue();
+        assertThat(estatisticas.getQueryCacheHitCount()).isEqualTo(1);
+
+        instanciaB.registrar(id);
+
+        assertThat(entityManagerFactory.getCache().contains(ProjetoModel.class, id)).isFalse();
+        assertThat(eventosA).singleElement().isInstanceOfSatisfying(CacheProjetosInvalidadoEvent.class,
+                evento -> assertThat(evento.getQuantidadeProjetos()).isEqualTo(1));
+        projetoRepository.findByStatus(StatusProjetoModel.EM_ANALISE, ProjetoDTO.class);
+        assertThat(estatisticas.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(estatisticas.getQueryCacheMissCount()).isEqualTo(2);
+    }
+}
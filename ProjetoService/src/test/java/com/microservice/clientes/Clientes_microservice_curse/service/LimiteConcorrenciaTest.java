@@ -0,0 +1,83 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import com.microservice.clientes.Clientes_microservice_curse.config.EnriquecimentoProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LimiteConcorrenciaTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EnriquecimentoProperties.Limite propriedades = new EnriquecimentoProperties.Limite();
+
+    @BeforeEach
+    void setUp() {
+        propriedades.setLatenciaTolerada(Duration.ofMillis(100));
+        propriedades.setFatorReducao(0.5);
+    }
+
+    @Test
+    void recusaNaHoraAsChamadasAcimaDoLimite() {
+        propriedades.setInicial(2);
+        LimiteConcorrencia limite = novoLimite();
+
+        LimiteConcorrencia.Permissao primeira = limite.adquirir().orElseThrow();
+        limite.adquirir().orElseThrow();
+
+        assertThat(limite.adquirir()).isEmpty();
+        assertThat(meterRegistry.get("projetos.clientes.concorrencia.rejeicoes").tag("servico", "user-service")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("projetos.clientes.concorrencia.em_andamento").gauge().value()).isEqualTo(2);
+
+        primeira.ignorar();
+        assertThat(limite.adquirir()).isPresent();
+    }
+
+    @Test
+    void sobeComChamadasRapidasEDesceComLentasOuFalhas() {
+        propriedades.setInicial(4);
+        LimiteConcorrencia limite = novoLimite();
+
+        chamada(limite, 2, Duration.ofMillis(10)).sucesso();
+        assertThat(limite.getLimite()).isEqualTo(5);
+
+        chamada(limite, 1, Duration.ofMillis(10)).sucesso();
+        assertThat(limite.getLimite()).as("com o limite ocioso não há sinal para subir").isEqualTo(5);
+
+        chamada(limite, 1, Duration.ofMillis(150)).sucesso();
+        assertThat(limite.getLimite()).isEqualTo(2);
+
+        chamada(limite, 1, Duration.ofMillis(10)).ignorar();
+        assertThat(limite.getLimite()).isEqualTo(2);
+
+        chamada(limite, 1, Duration.ofMillis(10)).falha();
+        chamada(limite, 1, Duration.ofMillis(10)).falha();
+        assertThat(limite.getLimite()).as("nunca abaixo do mínimo").isEqualTo(1);
+        assertThat(meterRegistry.get("projetos.clientes.concorrencia.limite").gauge().value()).isEqualTo(1);
+        assertThat(limite.getEmAndamento()).isZero();
+    }
+
+    private LimiteConcorrencia novoLimite() {
+        return new LimiteConcorrencia("user-service", propriedades, meterRegistry, relogio::get);
+    }
+
+    /** Ocupa {@code simultaneas} vagas e devolve a última, com a duração já transcorrida. */
+    private LimiteConcorrencia.Permissao chamada(LimiteConcorrencia limite, int simultaneas, Duration duracao) {
+        LimiteConcorrencia.Permissao[] outras = new LimiteConcorrencia.Permissao[simultaneas - 1];
+        for (int i = 0; i < outras.length; i++) {
+            outras[i] = limite.adquirir().orElseThrow();
+        }
+        LimiteConcorrencia.Permissao permissao = limite.adquirir().orElseThrow();
+        for (LimiteConcorrencia.Permissao outra : outras) {
+            outra.ignorar();
+        }
+        relogio.addAndGet(duracao.toNanos());
+        return permissao;
+    }
+}
@@ -0,0 +1,230 @@
+package com.microservice.clientes.Clientes_microservice_curse.service;
+
+import com.microservice.clientes.Clientes_microservice_curse.Clients.GroupServiceClientLocal;
+import com.microservice.clientes.Clientes_microservice_curse.config.OutboxProperties;
+import com.microservice.clientes.Clientes_microservice_curse.dto.EventoProjetoDTO;
+import com.microservice.clientes.Clientes_microservice_curse.enums.TipoEventoProjeto;
+import com.microservice.clientes.Clientes_microservice_curse.model.EventoProjetoOutboxModel;
+import com.microservice.clientes.Clientes_microservice_curse.repository.EventoProjetoOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class OutboxEventosProjetoServiceTest {
+
+    @Autowired
+    private EventoProjetoOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final RelogioAjustavel relogio = new RelogioAjustavel(Instant.parse("2025-03-01T12:00:00Z"));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxProperties propriedades = new OutboxProperties();
+    private GroupServiceClientLocal groupServiceClient;
+    private OutboxEventosProjetoService outbox;
+
+    @BeforeEach
+    void setUp() {
+        groupServiceClient = new GroupServiceClientLocal();
+        propriedades.setTamanhoLote(2);
+        propriedades.setBackoffMaximo(Duration.ofSeconds(5));
+        outbox = new OutboxEventosProjetoService(outboxRepository, groupServiceClient, transactionManager,
+                propriedades, meterRegistry, relogio);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void enviaEmLotesNaOrdemERemoveOsConfirmados() {
+        Long primeiro = gravar(1L, TipoEventoProjeto.GRUPO_ASSOCIADO);
+        Long segundo = gravar(2L, TipoEventoProjeto.GRUPO_ASSOCIADO);
+        Long terceiro = gravar(1L, TipoEventoProjeto.PROJETO_FINALIZADO);
+        relogio.avancar(Duration.ofMillis(250));
+
+        assertThat(outbox.despachar()).isEqualTo(3);
+
+        assertThat(groupServiceClient.getLotesEventos()).extracting(lote -> ids(lote))
+                .containsExactly(List.of(primeiro, segundo), List.of(terceiro));
+        assertThat(outboxRepository.count()).isZero();
+        assertThat(meterRegistry.get("projetos.outbox.entrega").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("projetos.outbox.entrega").timer().max(TimeUnit.MILLISECONDS)).isEqualTo(250);
+        assertThat(meterRegistry.get("projetos.outbox.atraso").timeGauge().value(TimeUnit.MILLISECONDS)).isZero();
+    }
+
+    @Test
+    void falhaReagendaComBackoffERetemEventosPosterioresDoMesmoProjeto() {
+        Long antigo = gravar(1L, TipoEventoProjeto.GRUPO_ASSOCIADO);
+        groupServiceClient.indisponivel(true);
+
+        assertThat(outbox.despachar()).isZero();
+
+        EventoProjetoOutboxModel falho = outboxRepository.findById(antigo).orElseThrow();
+        assertThat(falho.getTentativas()).isEqualTo(1);
+        assertThat(falho.getProximaTentativaEm()).isEqualTo(relogio.instant().plusSeconds(1));
+        assertThat(falho.getUltimoErro()).contains("ServiceUnavailable");
+        assertThat(meterRegistry.get("projetos.outbox.falhas").counter().count()).isEqualTo(1);
+
+        groupServiceClient.indisponivel(false);
+        Long posterior = gravar(1L, TipoEventoProjeto.GRUPO_DESASSOCIADO);
+        Long outroProjeto = gravar(2L, TipoEventoProjeto.GRUPO_ASSOCIADO);
+
+        assertThat(outbox.despachar()).isEqualTo(1);
+        assertThat(groupServiceClient.getLotesEventos()).extracting(lote -> ids(lote))
+                .containsExactly(List.of(outroProjeto));
+        assertThat(meterRegistry.get("projetos.outbox.atraso").timeGauge().value(TimeUnit.MILLISECONDS)).isZero();
+
+        relogio.avancar(Duration.ofSeconds(1));
+        assertThat(outbox.despachar()).isEqualTo(2);
+        assertThat(groupServiceClient.getLotesEventos()).extracting(lote -> ids(lote))
+                .containsExactly(List.of(outroProjeto), List.of(antigo), List.of(posterior));
+    }
+
+    @Test
+    void eventoRecusadoComQuatrocentosEhEstacionadoSemReterOsDemais() {
+        Long recusado = gravar(1L, TipoEventoProjeto.GRUPO_ASSOCIADO);
+        Long outroProjeto = gravar(2L, TipoEventoProjeto.GRUPO_ASSOCIADO);
+        Long posterior = gravar(1L, TipoEventoProjeto.GRUPO_DESASSOCIADO);
+        groupServiceClient.recusandoEvento(recusado);
+
+        assertThat(outbox.despachar()).isEqualTo(2);
+
+        assertThat(groupServiceClient.getLotesEventos()).extracting(lote -> ids(lote))
+                .containsExactly(List.of(outroProjeto), List.of(posterior));
+        EventoProjetoOutboxModel estacionado = outboxRepository.findById(recusado).orElseThrow();
+        assertThat(estacionado.getEstacionadoEm()).isEqualTo(relogio.instant());
+        assertThat(estacionado.getUltimoErro()).contains("BadRequest");
+        assertThat(outboxRepository.count()).isEqualTo(1);
+        assertThat(meterRegistry.get("projetos.outbox.estacionados").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("projetos.outbox.estacionados.pendentes").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("projetos.outbox.atraso").timeGauge().value(TimeUnit.MILLISECONDS)).isZero();
+    }
+
+    @Test
+    void falhaTransitoriaNoEnvioUmAUmLiberaOsNaoTentadosSemContarTentativa() {
+        propriedades.setTamanhoLote(3);
+        Long primeiro = gravar(1L, TipoEventoProjeto.GRUPO_ASSOCIADO);
+        Long segundo = gravar(2L, TipoEventoProjeto.GRUPO_ASSOCIADO);
+        Long terceiro = gravar(3L, TipoEventoProjeto.GRUPO_ASSOCIADO);
+        groupServiceClient.recusandoEvento(primeiro);
+        AtomicInteger chamadas = new AtomicInteger();
+        groupServiceClient.aoReceberEventos(() -> {
+            if (chamadas.incrementAndGet() == 3) groupServiceClient.indisponivel(true);
+        });
+
+        assertThat(outbox.despachar()).isZero();
+
+        assertThat(outboxRepository.findById(primeiro).orElseThrow().getEstacionadoEm()).isNotNull();
+        EventoProjetoOutboxModel falho = outboxRepository.findById(segundo).orElseThrow();
+        assertThat(falho.getTentativas()).isEqualTo(1);
+        assertThat(falho.getProximaTentativaEm()).isEqualTo(relogio.instant().plusSeconds(1));
+        EventoProjetoOutboxModel naoTentado = outboxRepository.findById(terceiro).orElseThrow();
+        assertThat(naoTentado.getTentativas()).isZero();
+        assertThat(naoTentado.getProximaTentativaEm()).isEqualTo(relogio.instant());
+    }
+
+    @Test
+    void eventoEhEstacionadoAoEsgotarAsTentativas() {
+        propriedades.setMaximoTentativas(2);
+        Long evento = gravar(1L, TipoEventoProjeto.GRUPO_ASSOCIADO);
+        groupServiceClient.indisponivel(true);
+
+        outbox.despachar();
+        assertThat(outboxRepository.findById(evento).orElseThrow().getEstacionadoEm()).isNull();
+
+        relogio.avancar(Duration.ofSeconds(1));
+        outbox.despachar();
+
+        EventoProjetoOutboxModel estacionado = outboxRepository.findById(evento).orElseThrow();
+        assertThat(estacionado.getTentativas()).isEqualTo(2);
+        assertThat(estacionado.getEstacionadoEm()).isEqualTo(relogio.instant());
+        assertThat(meterRegistry.get("projetos.outbox.falhas").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("projetos.outbox.estacionados").counter().count()).isEqualTo(1);
+
+        relogio.avancar(Duration.ofMinutes(10));
+        groupServiceClient.indisponivel(false);
+        assertThat(outbox.despachar()).isZero();
+        assertThat(groupServiceClient.getLotesEventos()).isEmpty();
+    }
+
+    @Test
+    void loteReservadoNaoEhDespachadoPorOutraInstancia() {
+        Long evento = gravar(1L, TipoEventoProjeto.GRUPO_ASSOCIADO);
+        OutboxEventosProjetoService outraInstancia = new OutboxEventosProjetoService(outboxRepository,
+                groupServiceClient, transactionManager, propriedades, new SimpleMeterRegistry(), relogio);
+        AtomicInteger enviadosPelaOutra = new AtomicInteger(-1);
+        groupServiceClient.aoReceberEventos(() -> {
+            if (enviadosPelaOutra.get() < 0) enviadosPelaOutra.set(outraInstancia.despachar());
+        });
+
+        assertThat(outbox.despachar()).isEqualTo(1);
+
+        assertThat(enviadosPelaOutra.get()).isZero();
+        assertThat(groupServiceClient.getLotesEventos()).extracting(lote -> ids(lote))
+                .containsExactly(List.of(evento));
+    }
+
+    @Test
+    void backoffDobraAteOMaximo() {
+        assertThat(outbox.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(outbox.backoff(3)).isEqualTo(Duration.ofSeconds(4));
+        assertThat(outbox.backoff(40)).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    private Long gravar(Long projetoId, TipoEventoProjeto tipo) {
+        return outboxRepository.save(new EventoProjetoOutboxModel(projetoId, tipo, 10L, relogio.instant())).getId();
+    }
+
+    private static List<Long> ids(List<EventoProjetoDTO> lote) {
+        return lote.stream().map(EventoProjetoDTO::getId).toList();
+    }
+
+    private static final class RelogioAjustavel extends Clock {
+
+        private volatile Instant agora;
+
+        RelogioAjustavel(Instant agora) {
+            this.agora = agora;
+        }
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneId getZone() { return ZoneOffset.UTC; }
+
+        @Override
+        public Clock withZone(ZoneId zone) { return this; }
+
+        @Override
+        public Instant instant() { return agora; }
+    }
+}